@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Per-user query latency as the tasks table grows, plain vs. hash partitioned.
+#
+#   PGHOST=... PGUSER=... PGPASSWORD=... scripts/partition-benchmark.sh
+#
+# For each layout a scratch database is created from all the real migrations
+# (db/migration, plus db/partitioning for the partitioned layout). It is
+# then grown step by step: every step adds users that own TASKS_PER_USER
+# tasks each, so one user's data stays the same while the table grows.
+# After each step pgbench runs the month overlap query (the SQL behind
+# TaskRepository.findTasksOverlappingMonth) for random users and reports
+# the average latency. Flat numbers across steps mean the query stays
+# bound to one user's rows (one partition when partitioned).
+#
+# User ids are derived from the user number, so the query compares
+# author_id with a constant the way the application binds it. Looked up
+# with a sub-select instead, the partition is only known at run time and
+# every execution plans all partitions.
+#
+# Requires psql and pgbench. Rows per step are cumulative, adjust STEPS to
+# the size you want to test, e.g. STEPS="1000000 10000000 100000000".
+set -euo pipefail
+
+STEPS="${STEPS:-100000 1000000 10000000}"
+TASKS_PER_USER="${TASKS_PER_USER:-200}"
+DURATION="${DURATION:-30}"
+CLIENTS="${CLIENTS:-8}"
+MIGRATIONS="src/main/resources/db/migration"
+PARTITIONING="src/main/resources/db/partitioning"
+QUERY_FILE="$(mktemp)"
+trap 'rm -f "$QUERY_FILE"' EXIT
+
+cat > "$QUERY_FILE" <<'SQL'
+\set user_number random(1, :users)
+SELECT t.*
+FROM tasks t
+WHERE t.author_id = md5('bench-' || :user_number)::uuid
+  AND t.recurrence IS NULL
+  AND t.start_time <= DATE '2026-06-30'
+  AND t.end_time >= DATE '2026-06-01'
+  AND t.deleted_at IS NULL;
+SQL
+
+run_layout() {
+    local layout="$1"
+    local db="tasks_bench_$layout"
+    local users=0
+
+    dropdb --if-exists "$db"
+    createdb "$db"
+    # Version order, the partitioning step after the migration it follows
+    local files="$MIGRATIONS/V*.sql"
+    if [ "$layout" = "partitioned" ]; then
+        files="$files $PARTITIONING/V*.sql"
+    fi
+    # shellcheck disable=SC2086
+    for file in $(ls $files | awk -F/ '{ v = $NF; sub(/^V/, "", v); sub(/__.*/, "", v); gsub(/_/, ".", v); print v "\t" $0 }' \
+            | sort -V -k1,1 | cut -f2); do
+        psql -q -v ON_ERROR_STOP=1 -d "$db" -f "$file"
+    done
+
+    for rows in $STEPS; do
+        local target_users=$(( rows / TASKS_PER_USER ))
+        psql -q -v ON_ERROR_STOP=1 -d "$db" <<SQL
+INSERT INTO users (id, username, password)
+SELECT md5('bench-' || n)::uuid, 'bench-' || n, 'x' FROM generate_series($users + 1, $target_users) AS n;
+
+INSERT INTO tasks (id, title, status, start_time, end_time, author_id)
+SELECT gen_random_uuid(), 'task', 'PENDING', day, day + (i % 5), md5('bench-' || n)::uuid
+FROM generate_series($users + 1, $target_users) AS n
+CROSS JOIN generate_series(1, $TASKS_PER_USER) AS i
+CROSS JOIN LATERAL (SELECT DATE '2025-01-01' + ((i * 7 + n) % 730) AS day) d;
+
+ANALYZE;
+SQL
+        users=$target_users
+        local latency
+        latency=$(pgbench -n -f "$QUERY_FILE" -D users="$users" -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" "$db" \
+            | awk -F' = ' '/latency average/ { print $2 }')
+        printf '%-12s %12s rows %8s users   %s\n' "$layout" "$rows" "$users" "$latency"
+    done
+
+    dropdb "$db"
+}
+
+run_layout plain
+run_layout partitioned
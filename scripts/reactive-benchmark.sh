@@ -0,0 +1,100 @@
+#!/usr/bin/env bash
+#
+# Throughput and latency of the task reads, servlet stack vs. reactive mode.
+#
+#   mvn package -DskipTests
+#   DATABASE_URL=jdbc:postgresql://... PGUSER=... PGPASSWORD=... scripts/reactive-benchmark.sh
+#
+# For each mode the jar is started against the same database (migrated by
+# the first start), a benchmark user is registered and gets TASKS one-off
+# tasks plus a daily series in the current month. wrk then hammers
+# GET /tasks/month with that user's cookie at every concurrency level in
+# CONCURRENCY and reports requests per second, p99 latency and the number
+# of failed requests. Both modes hold the same number of database
+# connections (10 by default), so the difference is what waiting on
+# Postgres costs in threads. ConcurrencyLimitFilter, servlet-only, is off unless
+# LIMIT_ENABLED=true, otherwise the 503s it answers beyond its budget would count as
+# servlet throughput.
+#
+# Requires curl and wrk. All clients read as one user, which the servlet
+# mode's read coalescer and second-level cache answer partly from memory
+# while the reactive reads always go to Postgres. Pass extra properties in
+# SPRING_ARGS to change what is measured, e.g.
+# SPRING_ARGS="-Dspring.jpa.properties.hibernate.cache.use_second_level_cache=false".
+set -euo pipefail
+
+PORT="${PORT:-18080}"
+JAR="${JAR:-target/TasksApp-0.0.1-SNAPSHOT.jar}"
+MODES="${MODES:-servlet reactive}"
+CONCURRENCY="${CONCURRENCY:-64 256 1024 4096}"
+DURATION="${DURATION:-30s}"
+THREADS="${THREADS:-8}"
+TASKS="${TASKS:-50}"
+SPRING_ARGS="${SPRING_ARGS:-}"
+CORS_ARGS="-Dcors.allowed.origins=${ALLOWED_ORIGINS:-http://localhost}"
+LIMIT_ARGS="-Dtasks.limit.enabled=${LIMIT_ENABLED:-false}"
+BASE="http://localhost:$PORT"
+MONTH="$(date +%Y-%m)"
+
+start_app() {
+    local mode="$1"
+    # shellcheck disable=SC2086
+    java $SPRING_ARGS $CORS_ARGS $LIMIT_ARGS -Dserver.port="$PORT" -Dspring.main.web-application-type="$mode" \
+        -jar "$JAR" > "/tmp/tasks-benchmark-$mode.log" 2>&1 &
+    APP_PID=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE/" || true)" != "000" ]; do
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo "application exited during startup, see /tmp/tasks-benchmark-$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+}
+
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" 2> /dev/null || true
+}
+
+# The cookie is Secure, which curl won't store over plain HTTP, so it's read from the header
+register_user() {
+    local username="bench-$1-$RANDOM$RANDOM"
+    curl -s -D - -o /dev/null -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$username\",\"password\":\"benchmark\"}" "$BASE/auth/register" \
+        | awk -F'[=;]' 'tolower($1) ~ /^set-cookie: jwt$/ { print $2 }'
+}
+
+create_tasks() {
+    local token="$1"
+    local today
+    today="$(date +%Y-%m-%d)"
+    for i in $(seq "$TASKS"); do
+        curl -s -o /dev/null -H 'Content-Type: application/json' -H "Cookie: jwt=$token" \
+            -d "{\"title\":\"task $i\",\"start\":\"$today\",\"end\":\"$today\"}" "$BASE/tasks"
+    done
+    curl -s -o /dev/null -H 'Content-Type: application/json' -H "Cookie: jwt=$token" \
+        -d "{\"title\":\"daily\",\"start\":\"$today\",\"end\":\"$today\",\"recurrence\":\"FREQ=DAILY\"}" "$BASE/tasks"
+}
+
+printf '%-9s %8s %12s %12s %10s\n' "mode" "clients" "requests/s" "p99" "errors"
+for mode in $MODES; do
+    start_app "$mode"
+    token="$(register_user "$mode")"
+    if [ -z "$token" ]; then
+        echo "registering the benchmark user failed" >&2
+        stop_app
+        exit 1
+    fi
+    create_tasks "$token"
+
+    for clients in $CONCURRENCY; do
+        output=$(wrk -t "$THREADS" -c "$clients" -d "$DURATION" --latency -H "Cookie: jwt=$token" \
+            "$BASE/tasks/month?date=$MONTH")
+        rps=$(echo "$output" | awk '/Requests\/sec/ { print $2 }')
+        p99=$(echo "$output" | awk '$1 == "99%" { print $2 }')
+        errors=$(echo "$output" | awk '/Non-2xx|Socket errors/ { sub(/^[^:]*: */, ""); printf "%s ", $0 }')
+        printf '%-9s %8s %12s %12s %10s\n' "$mode" "$clients" "$rps" "$p99" "${errors:-0}"
+    done
+
+    stop_app
+done
@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+#
+# Time-to-first-request and RSS of TasksApp, plain JVM vs. AOT + AppCDS.
+#
+#   mvn -Pfast-startup package -DskipTests
+#   scripts/startup-benchmark.sh [runs]
+#
+# Every run starts the app, polls GET / until the server answers (any HTTP
+# status counts, an anonymous request gets 403), then reads VmRSS of the
+# process and stops it. Reported numbers are the median of all runs.
+#
+# By default the app starts without a database (same flags as the CDS
+# training run). To benchmark against Postgres, export DATABASE_URL, PGUSER
+# and PGPASSWORD and set DB_ARGS="" so the real configuration is used.
+#
+# Extra modes can be compared by setting them in MODES, e.g. the native
+# binary: MODES="jvm aot-cds native" NATIVE_BIN=target/TasksApp
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+APP_DIR="${APP_DIR:-target/application}"
+JAR="${JAR:-$APP_DIR/TasksApp-0.0.1-SNAPSHOT.jar}"
+NATIVE_BIN="${NATIVE_BIN:-target/TasksApp}"
+MODES="${MODES:-jvm aot-cds}"
+DB_ARGS="${DB_ARGS-"-Dspring.datasource.url=jdbc:postgresql://localhost:5432/benchmark \
+-Dspring.datasource.username=benchmark -Dspring.datasource.password=benchmark \
+-Dspring.jpa.hibernate.ddl-auto=none -Dspring.flyway.enabled=false \
+-Dspring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect \
+-Dspring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false"}"
+CORS_ARGS="-Dcors.allowed.origins=${ALLOWED_ORIGINS:-http://localhost}"
+
+command_for() {
+    case "$1" in
+        jvm)     echo "java $DB_ARGS $CORS_ARGS -Dserver.port=$PORT -jar $JAR" ;;
+        aot-cds) echo "java -XX:SharedArchiveFile=$APP_DIR/application.jsa -Dspring.aot.enabled=true $DB_ARGS $CORS_ARGS -Dserver.port=$PORT -jar $JAR" ;;
+        native)  echo "$NATIVE_BIN $DB_ARGS $CORS_ARGS -Dserver.port=$PORT" ;;
+        *)       echo "unknown mode: $1" >&2; exit 1 ;;
+    esac
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+run_once() {
+    local cmd="$1"
+    local start_ns end_ns pid rss
+    start_ns=$(date +%s%N)
+    $cmd > /dev/null 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/" || true)" != "000" ]; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before serving a request: $cmd" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    end_ns=$(date +%s%N)
+    rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$(( (end_ns - start_ns) / 1000000 )) $rss"
+}
+
+printf '%-8s %22s %16s\n' "mode" "first request (ms)" "RSS (MiB)"
+for mode in $MODES; do
+    cmd=$(command_for "$mode")
+    results=$(for _ in $(seq "$RUNS"); do run_once "$cmd"; done)
+    ttfr=$(echo "$results" | awk '{ print $1 }' | median)
+    rss=$(echo "$results" | awk '{ print $2 }' | median)
+    printf '%-8s %22s %16s\n' "$mode" "$ttfr" "$(( rss / 1024 ))"
+done
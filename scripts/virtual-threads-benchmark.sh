@@ -0,0 +1,128 @@
+#!/usr/bin/env bash
+#
+# Throughput and latency of the task reads, platform-thread Tomcat pool vs. virtual threads.
+#
+#   mvn -Pvirtual-threads package -DskipTests      (JDK 21 or newer)
+#   DATABASE_URL=jdbc:postgresql://... PGUSER=... PGPASSWORD=... scripts/virtual-threads-benchmark.sh
+#
+# The same jar runs twice against the same database: once as is (200 Tomcat worker threads)
+# and once with the virtual-threads profile. For each, a benchmark user is registered and gets
+# TASKS one-off tasks plus a daily series in the current month, then wrk hammers
+# GET /tasks/month with that user's cookie at every concurrency level in CONCURRENCY and
+# reports requests per second, p99 latency and the number of failed requests. Both modes get
+# DB_POOL_SIZE connections (10 by default), so the difference is what the thread model costs
+# while requests wait on the pool and on Postgres. ConcurrencyLimitFilter is off unless
+# LIMIT_ENABLED=true, otherwise the 503s it answers beyond its budget would count as throughput.
+#
+# The virtual run is recorded with JFR. Afterwards the frames where virtual threads were pinned
+# to their carrier for at least PIN_THRESHOLD are listed, most frequent first: the monitors
+# (synchronized, Object.wait) held across blocking calls in drivers, filters or our own code.
+# JDK 24 and newer no longer pin on monitors, so expect an empty list there.
+#
+# Requires curl, wrk and the JDK's jfr tool. Pass extra properties in SPRING_ARGS, e.g.
+# SPRING_ARGS="-Dspring.jpa.properties.hibernate.cache.use_second_level_cache=false" to make
+# every read go to Postgres.
+set -euo pipefail
+
+PORT="${PORT:-18080}"
+JAR="${JAR:-target/TasksApp-0.0.1-SNAPSHOT.jar}"
+MODES="${MODES:-platform virtual}"
+CONCURRENCY="${CONCURRENCY:-64 256 1024 4096}"
+DURATION="${DURATION:-30s}"
+THREADS="${THREADS:-8}"
+TASKS="${TASKS:-50}"
+DB_POOL_SIZE="${DB_POOL_SIZE:-10}"
+PIN_THRESHOLD="${PIN_THRESHOLD:-1ms}"
+SPRING_ARGS="${SPRING_ARGS:-}"
+CORS_ARGS="-Dcors.allowed.origins=${ALLOWED_ORIGINS:-http://localhost}"
+LIMIT_ARGS="-Dtasks.limit.enabled=${LIMIT_ENABLED:-false}"
+JFR_FILE="/tmp/tasks-benchmark-virtual.jfr"
+BASE="http://localhost:$PORT"
+MONTH="$(date +%Y-%m)"
+
+start_app() {
+    local mode="$1"
+    local mode_args="-Dspring.datasource.hikari.maximum-pool-size=$DB_POOL_SIZE"
+    if [ "$mode" = "virtual" ]; then
+        mode_args="$mode_args -Dspring.profiles.active=virtual-threads"
+        mode_args="$mode_args -XX:StartFlightRecording=filename=$JFR_FILE,jdk.VirtualThreadPinned#threshold=$PIN_THRESHOLD"
+    fi
+    # shellcheck disable=SC2086
+    java $SPRING_ARGS $CORS_ARGS $LIMIT_ARGS $mode_args -Dserver.port="$PORT" \
+        -jar "$JAR" > "/tmp/tasks-benchmark-$mode.log" 2>&1 &
+    APP_PID=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE/" || true)" != "000" ]; do
+        if ! kill -0 "$APP_PID" 2> /dev/null; then
+            echo "application exited during startup, see /tmp/tasks-benchmark-$mode.log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+}
+
+# The recording is written on a regular shutdown
+stop_app() {
+    kill "$APP_PID"
+    wait "$APP_PID" 2> /dev/null || true
+}
+
+# The cookie is Secure, which curl won't store over plain HTTP, so it's read from the header
+register_user() {
+    local username="bench-$1-$RANDOM$RANDOM"
+    curl -s -D - -o /dev/null -H 'Content-Type: application/json' \
+        -d "{\"username\":\"$username\",\"password\":\"benchmark\"}" "$BASE/auth/register" \
+        | awk -F'[=;]' 'tolower($1) ~ /^set-cookie: jwt$/ { print $2 }'
+}
+
+create_tasks() {
+    local token="$1"
+    local today
+    today="$(date +%Y-%m-%d)"
+    for i in $(seq "$TASKS"); do
+        curl -s -o /dev/null -H 'Content-Type: application/json' -H "Cookie: jwt=$token" \
+            -d "{\"title\":\"task $i\",\"start\":\"$today\",\"end\":\"$today\"}" "$BASE/tasks"
+    done
+    curl -s -o /dev/null -H 'Content-Type: application/json' -H "Cookie: jwt=$token" \
+        -d "{\"title\":\"daily\",\"start\":\"$today\",\"end\":\"$today\",\"recurrence\":\"FREQ=DAILY\"}" "$BASE/tasks"
+}
+
+# First frame of each pinned stack outside the JDK's own thread and lock machinery
+pinning_report() {
+    echo
+    echo "virtual threads pinned for >= $PIN_THRESHOLD, by frame:"
+    jfr print --events jdk.VirtualThreadPinned "$JFR_FILE" | awk '
+        /stackTrace = \[/ { in_stack = 1; found = 0; next }
+        in_stack && /^[[:space:]]*\]/ { in_stack = 0; next }
+        in_stack && !found && !/java\.lang\.(VirtualThread|Thread|Object)|jdk\.internal\.|java\.util\.concurrent\.locks\./ {
+            sub(/^[[:space:]]+/, ""); count[$0]++; found = 1
+        }
+        END { for (frame in count) printf "%8d  %s\n", count[frame], frame }
+    ' | sort -rn | head -20
+}
+
+printf '%-9s %8s %12s %12s %10s\n' "mode" "clients" "requests/s" "p99" "errors"
+for mode in $MODES; do
+    start_app "$mode"
+    token="$(register_user "$mode")"
+    if [ -z "$token" ]; then
+        echo "registering the benchmark user failed" >&2
+        stop_app
+        exit 1
+    fi
+    create_tasks "$token"
+
+    for clients in $CONCURRENCY; do
+        output=$(wrk -t "$THREADS" -c "$clients" -d "$DURATION" --latency -H "Cookie: jwt=$token" \
+            "$BASE/tasks/month?date=$MONTH")
+        rps=$(echo "$output" | awk '/Requests\/sec/ { print $2 }')
+        p99=$(echo "$output" | awk '$1 == "99%" { print $2 }')
+        errors=$(echo "$output" | awk '/Non-2xx|Socket errors/ { sub(/^[^:]*: */, ""); printf "%s ", $0 }')
+        printf '%-9s %8s %12s %12s %10s\n' "$mode" "$clients" "$rps" "$p99" "${errors:-0}"
+    done
+
+    stop_app
+done
+
+case " $MODES " in
+    *" virtual "*) pinning_report ;;
+esac
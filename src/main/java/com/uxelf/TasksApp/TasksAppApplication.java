@@ -1,12 +1,15 @@
 package com.uxelf.TasksApp;
 
+import com.uxelf.TasksApp.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @SpringBootApplication
 @RestController
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class TasksAppApplication {
 
 	public static void main(String[] args) {
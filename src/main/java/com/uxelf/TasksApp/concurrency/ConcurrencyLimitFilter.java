@@ -0,0 +1,136 @@
+package com.uxelf.TasksApp.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Sheds load before it queues up: requests to TaskController and AuthController go through an
+ * adaptive concurrency limit per TrafficClass, so a flood of one kind, like logins hashing
+ * passwords, doesn't slow down the others. Over the limit, a request is answered right away
+ * with 503 and Retry-After instead of waiting for a worker and a connection.
+ *
+ * On by default, tasks.limit.enabled=false turns it off. Each budget starts at its initial
+ * limit and moves between tasks.limit.min and its max as latency allows, see GradientLimit.
+ * Latency may grow by tolerance over its long-term average before a limit shrinks. Runs
+ * ahead of Spring Security, so rejected requests don't even verify their JWT; servlet stack
+ * only. Being ahead of Security's CORS handling too, a rejection applies the CORS
+ * configuration itself, so the browser lets the frontend read the 503 and its Retry-After.
+ *
+ * Metrics, tagged with traffic=read|write|auth: tasks.limit.limit, tasks.limit.in-flight,
+ * tasks.limit.rejected
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_BODY = "{\"error\":\"Server is busy, please retry later\"}";
+
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+    private final boolean enabled;
+    private final String retryAfterSeconds;
+    private final Map<TrafficClass, GradientLimit> limits = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Counter> rejected = new EnumMap<>(TrafficClass.class);
+
+    public ConcurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            CorsConfigurationSource corsConfigurationSource,
+            @Value("${tasks.limit.enabled:true}") boolean enabled,
+            @Value("${tasks.limit.min:4}") int minLimit,
+            @Value("${tasks.limit.tolerance:1.5}") double tolerance,
+            @Value("${tasks.limit.retry-after:PT1S}") Duration retryAfter,
+            @Value("${tasks.limit.read.initial:100}") int readInitial,
+            @Value("${tasks.limit.read.max:1000}") int readMax,
+            @Value("${tasks.limit.write.initial:50}") int writeInitial,
+            @Value("${tasks.limit.write.max:500}") int writeMax,
+            @Value("${tasks.limit.auth.initial:20}") int authInitial,
+            @Value("${tasks.limit.auth.max:100}") int authMax
+    ) {
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.enabled = enabled;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        limits.put(TrafficClass.READ, new GradientLimit(readInitial, minLimit, readMax, tolerance));
+        limits.put(TrafficClass.WRITE, new GradientLimit(writeInitial, minLimit, writeMax, tolerance));
+        limits.put(TrafficClass.AUTH, new GradientLimit(authInitial, minLimit, authMax, tolerance));
+
+        limits.forEach((traffic, limit) -> {
+            String tag = traffic.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("tasks.limit.limit", limit, GradientLimit::limit).tag("traffic", tag).register(meterRegistry);
+            Gauge.builder("tasks.limit.in-flight", limit, GradientLimit::inFlight).tag("traffic", tag).register(meterRegistry);
+            rejected.put(traffic, meterRegistry.counter("tasks.limit.rejected", "traffic", tag));
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        TrafficClass traffic = enabled ? TrafficClass.of(request) : null;
+        if (traffic == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        GradientLimit limit = limits.get(traffic);
+        int inFlight = limit.tryAcquire();
+        if (inFlight < 0) {
+            rejected.get(traffic).increment();
+            reject(request, response);
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - startedAt, inFlight);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (CorsUtils.isCorsRequest(request)) {
+            CorsConfiguration config = corsConfigurationSource.getCorsConfiguration(request);
+            if (config != null) {
+                CorsConfiguration withRetryAfter = new CorsConfiguration(config);
+                withRetryAfter.addExposedHeader(HttpHeaders.RETRY_AFTER);
+                // A disallowed origin gets the same 403 the security chain would send
+                if (!corsProcessor.processRequest(withRetryAfter, request, response)) {
+                    return;
+                }
+            }
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(REJECTED_BODY);
+    }
+}
@@ -0,0 +1,87 @@
+package com.uxelf.TasksApp.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that follows latency, in the style of Netflix's Gradient2.
+ *
+ * Every completed request compares its latency with a long-term average. While latency stays
+ * within tolerance of that average the limit grows by about its square root, as queueing
+ * headroom; once latency climbs above it the limit shrinks in proportion, down to half per
+ * sample. Changes are smoothed, and the limit only moves while requests use at least half of
+ * it. When latency drops well below the average again, the average is pulled down faster so
+ * the limit recovers after a spike instead of after the whole window.
+ */
+final class GradientLimit {
+
+    // About 600 samples of memory
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    private double longRtt;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    // The number of requests in flight including this one, or -1 when the limit is reached
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (rttNanos > 0) {
+            update(rttNanos, inFlightAtStart);
+        }
+    }
+
+    private void update(long rtt, int inFlightAtStart) {
+        lock.lock();
+        try {
+            longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) * LONG_RTT_ALPHA;
+            if (longRtt / rtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            double current = limit;
+            // A limit that isn't used says nothing about whether a higher one would be fine
+            if (inFlightAtStart < current / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+            double target = current * gradient + Math.sqrt(current);
+            double next = current * (1 - SMOOTHING) + target * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
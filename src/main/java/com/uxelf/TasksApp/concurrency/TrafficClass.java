@@ -0,0 +1,31 @@
+package com.uxelf.TasksApp.concurrency;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// Requests that share a concurrency budget
+public enum TrafficClass {
+    READ,
+    WRITE,
+    AUTH;
+
+    // Null for requests that aren't limited: CORS preflights and anything outside /tasks and /auth
+    static TrafficClass of(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("OPTIONS".equals(method)) {
+            return null;
+        }
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/auth/")) {
+            return AUTH;
+        }
+        if (!path.equals("/tasks") && !path.startsWith("/tasks/")) {
+            return null;
+        }
+        // POST /tasks/batch looks tasks up by id
+        if ("GET".equals(method) || "HEAD".equals(method) || path.equals("/tasks/batch")) {
+            return READ;
+        }
+        return WRITE;
+    }
+}
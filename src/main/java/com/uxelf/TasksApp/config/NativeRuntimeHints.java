@@ -0,0 +1,112 @@
+package com.uxelf.TasksApp.config;
+
+import com.uxelf.TasksApp.dto.auth.AuthResponse;
+import com.uxelf.TasksApp.dto.auth.LoginRequest;
+import com.uxelf.TasksApp.dto.auth.RegisterRequest;
+import com.uxelf.TasksApp.dto.tasks.BatchTasksRequest;
+import com.uxelf.TasksApp.dto.tasks.BatchTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusRequest;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusResponse;
+import com.uxelf.TasksApp.dto.tasks.CreateTaskRequest;
+import com.uxelf.TasksApp.dto.tasks.DayTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskDensityResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskFieldChange;
+import com.uxelf.TasksApp.dto.tasks.TaskHistoryPageResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskHistoryResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskStatsResponse;
+import com.uxelf.TasksApp.dto.tasks.UpdateOccurrenceRequest;
+import com.uxelf.TasksApp.dto.tasks.UpdateTaskRequest;
+import com.uxelf.TasksApp.entity.ArchivedTask;
+import com.uxelf.TasksApp.entity.IdempotencyRecord;
+import com.uxelf.TasksApp.entity.JobCheckpoint;
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.TaskHistory;
+import com.uxelf.TasksApp.entity.TaskOccurrenceOverride;
+import com.uxelf.TasksApp.entity.TaskStats;
+import com.uxelf.TasksApp.entity.User;
+import com.uxelf.TasksApp.entity.enums.TaskChangeType;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image build (mvn -Pnative native:compile).
+ *
+ * Spring AOT already covers controller bodies, repositories and the managed JPA types;
+ * this adds what it can't see: classes jjwt loads by name, the Jackson (de)serializers it
+ * finds through ServiceLoader, and the DTOs/entities that are only reached reflectively.
+ *
+ * Entity associations are eager, so Hibernate never needs runtime-generated proxies.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> JJWT_REFLECTIVE_TYPES = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.crypto.MacProvider",
+            "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+            "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_REFLECTIVE_TYPES) {
+            hints.reflection().registerType(
+                    TypeReference.of(type),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS
+            );
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+        // Second-level cache regions, read by Caffeine's JCache provider on top of its reference.conf
+        hints.resources().registerPattern("hibernate-cache.conf");
+        hints.resources().registerPattern("reference.conf");
+
+        bindingRegistrar.registerReflectionHints(
+                hints.reflection(),
+                LoginRequest.class,
+                RegisterRequest.class,
+                AuthResponse.class,
+                CreateTaskRequest.class,
+                BatchTasksRequest.class,
+                BatchTasksResponse.class,
+                BulkStatusRequest.class,
+                BulkStatusResponse.class,
+                UpdateTaskRequest.class,
+                UpdateOccurrenceRequest.class,
+                TaskResponse.class,
+                TaskStatsResponse.class,
+                TaskDensityResponse.class,
+                DayTasksResponse.class,
+                TaskFieldChange.class,
+                TaskHistoryResponse.class,
+                TaskHistoryPageResponse.class,
+                TaskChangeType.class,
+                TaskStatus.class
+        );
+
+        for (Class<?> entity : List.of(Task.class, TaskOccurrenceOverride.class, ArchivedTask.class, TaskStats.class,
+                IdempotencyRecord.class, IdempotencyRecord.Key.class, JobCheckpoint.class, TaskHistory.class, User.class)) {
+            hints.reflection().registerType(
+                    entity,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.ACCESS_DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_METHODS
+            );
+        }
+    }
+}
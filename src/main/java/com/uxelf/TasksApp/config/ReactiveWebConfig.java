@@ -0,0 +1,103 @@
+package com.uxelf.TasksApp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Reactive mode, started with spring.main.web-application-type=reactive: the application runs
+ * on WebFlux (Netty) instead of the servlet stack.
+ *
+ * The task reads of TaskReadRoutes use R2DBC against the database of spring.datasource.*
+ * (the JDBC URL with an r2dbc: scheme, or tasks.reactive.r2dbc-url when the options differ).
+ * Every other endpoint keeps its blocking controller, which WebFlux runs on blocking-threads
+ * worker threads instead of the event loop; JPA, Flyway and the scheduled jobs are unchanged.
+ *
+ * ConcurrencyLimitFilter and RequestPhaseFilter are servlet filters and aren't created in this
+ * mode: there's no load shedding (tasks.limit.*), no Server-Timing header and no JFR request
+ * events. Load is bounded by tasks.reactive.blocking-threads and tasks.reactive.pool.max-size.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final ThreadPoolTaskExecutor blockingExecutor;
+
+    public ReactiveWebConfig(@Value("${tasks.reactive.blocking-threads:200}") int blockingThreads) {
+        this.blockingExecutor = new ThreadPoolTaskExecutor();
+        this.blockingExecutor.setCorePoolSize(blockingThreads);
+        this.blockingExecutor.setMaxPoolSize(blockingThreads);
+        this.blockingExecutor.setAllowCoreThreadTimeOut(true);
+        this.blockingExecutor.setThreadNamePrefix("blocking-");
+        this.blockingExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        this.blockingExecutor.initialize();
+    }
+
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(blockingExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        blockingExecutor.shutdown();
+    }
+
+    // Boot leaves out its JDBC DataSource once an R2DBC ConnectionFactory exists, while JPA,
+    // Flyway and the blocking controllers still need one
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password
+    ) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(jdbcUrl)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool connectionFactory(
+            @Value("${tasks.reactive.r2dbc-url:}") String r2dbcUrl,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            // Hikari's default, so both modes hold as many connections
+            @Value("${tasks.reactive.pool.max-size:10}") int maxSize
+    ) {
+        String url = r2dbcUrl.isBlank() ? jdbcUrl.replaceFirst("^jdbc:", "r2dbc:") : r2dbcUrl;
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options);
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(maxSize)
+                .maxSize(maxSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+}
@@ -0,0 +1,55 @@
+package com.uxelf.TasksApp.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes hits, misses, puts and the hit ratio of every Hibernate second-level cache region,
+ * e.g. GET /actuator/metrics/hibernate.cache.hit.ratio?tag=region:users
+ *
+ * Needs hibernate.generate_statistics=true, otherwise every counter stays at zero.
+ */
+@Component
+@AllArgsConstructor
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+
+            FunctionCounter.builder("hibernate.cache.hits", regionStatistics, CacheRegionStatistics::getHitCount)
+                    .tag("region", region)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.misses", regionStatistics, CacheRegionStatistics::getMissCount)
+                    .tag("region", region)
+                    .register(registry);
+            FunctionCounter.builder("hibernate.cache.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("hibernate.cache.hit.ratio", regionStatistics, SecondLevelCacheMetrics::hitRatio)
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    static double hitRatio(CacheRegionStatistics statistics) {
+        long lookups = statistics.getHitCount() + statistics.getMissCount();
+        return lookups == 0 ? 0 : (double) statistics.getHitCount() / lookups;
+    }
+}
@@ -6,6 +6,7 @@ import com.uxelf.TasksApp.service.UserService;
 import lombok.AllArgsConstructor;
 import org.hibernate.cfg.Environment;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -22,7 +23,9 @@ import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.List;
 
+// ReactiveSecurityConfig takes over in reactive mode
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @AllArgsConstructor
 public class SecurityConfig {
 
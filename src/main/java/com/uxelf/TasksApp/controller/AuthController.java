@@ -6,9 +6,8 @@ import com.uxelf.TasksApp.entity.User;
 import com.uxelf.TasksApp.exception.BusinessException;
 import com.uxelf.TasksApp.repository.UserRepository;
 import com.uxelf.TasksApp.security.UserPrincipal;
+import com.uxelf.TasksApp.service.ClusterInvalidationBus;
 import com.uxelf.TasksApp.service.JwtService;
-import jakarta.servlet.http.Cookie;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
@@ -28,9 +27,12 @@ public class AuthController {
     private final UserRepository userRepository;
     private final JwtService jwtService;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final ClusterInvalidationBus clusterInvalidationBus;
 
+    // Cookies go out as Set-Cookie headers of the ResponseEntity, so these endpoints work the
+    // same on the servlet stack and in reactive mode
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletResponse response) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         User user = userRepository.findByUsername(loginRequest.getUsername())
                 .orElseThrow(() -> new BusinessException("User not found"));
 
@@ -38,13 +40,13 @@ public class AuthController {
             throw new BusinessException("Incorrect user or password");
         }
 
-        this.AddJwtCookieToResponse(user, response);
-
-        return ResponseEntity.ok("Login exitoso");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, this.createJwtCookie(user).toString())
+                .body("Login exitoso");
     }
 
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody RegisterRequest request, HttpServletResponse response){
+    public ResponseEntity<?> register(@RequestBody RegisterRequest request){
 
         if (request.getUsername().trim().isEmpty()){
             return ResponseEntity.badRequest().body(Map.of("error", "Username can't be empty"));
@@ -57,21 +59,24 @@ public class AuthController {
 
         User user = new User(request.getUsername(), encodedPassword);
         userRepository.save(user);
+        clusterInvalidationBus.userChanged(user.getId());
 
-        this.AddJwtCookieToResponse(user, response);
-
-        return ResponseEntity.ok("User created");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, this.createJwtCookie(user).toString())
+                .body("User created");
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse response) {
-        Cookie cookie = new Cookie("jwt", null);
-        cookie.setHttpOnly(true);
-        cookie.setPath("/");
-        cookie.setMaxAge(0);
-        response.addCookie(cookie);
-
-        return ResponseEntity.ok("Logged out");
+    public ResponseEntity<?> logout() {
+        ResponseCookie cookie = ResponseCookie.from("jwt", "")
+                .httpOnly(true)
+                .path("/")
+                .maxAge(0)
+                .build();
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, cookie.toString())
+                .body("Logged out");
     }
 
     @GetMapping("/me")
@@ -82,17 +87,15 @@ public class AuthController {
         ));
     }
 
-    private void AddJwtCookieToResponse(User user, HttpServletResponse response){
+    private ResponseCookie createJwtCookie(User user){
         String token = jwtService.generateToken(user);
 
-        ResponseCookie cookie = ResponseCookie.from("jwt", token)
+        return ResponseCookie.from("jwt", token)
                 .httpOnly(true)
                 .secure(true)  //! Http = false -> Https = true
                 .sameSite("None")
                 .path("/")
                 .maxAge(7 * 24 * 60 * 60)
                 .build();
-
-        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
     }
 }
@@ -1,13 +1,24 @@
 package com.uxelf.TasksApp.controller;
 
+import com.uxelf.TasksApp.dto.tasks.BatchTasksRequest;
+import com.uxelf.TasksApp.dto.tasks.BatchTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusRequest;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusResponse;
 import com.uxelf.TasksApp.dto.tasks.CreateTaskRequest;
+import com.uxelf.TasksApp.dto.tasks.DayTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskDensityResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskHistoryPageResponse;
 import com.uxelf.TasksApp.dto.tasks.TaskResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskStatsResponse;
+import com.uxelf.TasksApp.dto.tasks.UpdateOccurrenceRequest;
 import com.uxelf.TasksApp.dto.tasks.UpdateTaskRequest;
 import com.uxelf.TasksApp.entity.Task;
 import com.uxelf.TasksApp.entity.enums.TaskStatus;
 import com.uxelf.TasksApp.repository.TaskRepository;
 import com.uxelf.TasksApp.security.UserPrincipal;
+import com.uxelf.TasksApp.service.IdempotencyService;
 import com.uxelf.TasksApp.service.TaskService;
+import com.uxelf.TasksApp.service.history.TaskHistoryService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -25,8 +36,12 @@ import java.util.UUID;
 @RequestMapping("/tasks")
 public class TaskController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final TaskRepository taskRepository;
     private final TaskService taskService;
+    private final IdempotencyService idempotencyService;
+    private final TaskHistoryService taskHistoryService;
 
 
     @GetMapping
@@ -38,12 +53,24 @@ public class TaskController {
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(
             @RequestBody @Valid CreateTaskRequest taskRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserPrincipal user
     ){
-        TaskResponse taskResponse = taskService.createTask(taskRequest, user.getId());
+        TaskResponse taskResponse = idempotencyService.execute(user.getId(), idempotencyKey,
+                "createTask", List.of(taskRequest), TaskResponse.class,
+                () -> taskService.createTask(taskRequest, user.getId()));
         return ResponseEntity.ok(taskResponse);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTasksResponse> getTasksByIds(
+            @RequestBody @Valid BatchTasksRequest batchRequest,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        BatchTasksResponse batchResponse = taskService.getTasksByIds(batchRequest.getIds(), user.getId());
+        return ResponseEntity.ok(batchResponse);
+    }
+
     @GetMapping("/day")
     public ResponseEntity<List<TaskResponse>> getDayTasks(
             @RequestParam LocalDate date,
@@ -62,6 +89,41 @@ public class TaskController {
         return ResponseEntity.ok(taskResponses);
     }
 
+    @GetMapping("/range")
+    public ResponseEntity<List<DayTasksResponse>> getRangeTasks(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        List<DayTasksResponse> dayResponses = taskService.getTasksForRange(user.getId(), from, to);
+        return ResponseEntity.ok(dayResponses);
+    }
+
+    @GetMapping("/density")
+    public ResponseEntity<TaskDensityResponse> getTaskDensity(
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        TaskDensityResponse densityResponse = taskService.getTaskDensity(user.getId(), from, to);
+        return ResponseEntity.ok(densityResponse);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getStats(@AuthenticationPrincipal UserPrincipal user){
+        return ResponseEntity.ok(taskService.getStats(user.getId()));
+    }
+
+    @GetMapping("/archive")
+    public ResponseEntity<List<TaskResponse>> getArchivedTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        List<TaskResponse> taskResponses = taskService.getArchivedTasks(user.getId(), page, size);
+        return ResponseEntity.ok(taskResponses);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponse> getTask(
             @PathVariable UUID id,
@@ -71,22 +133,81 @@ public class TaskController {
         return ResponseEntity.ok(taskResponse);
     }
 
+    @GetMapping("/{id}/history")
+    public ResponseEntity<TaskHistoryPageResponse> getTaskHistory(
+            @PathVariable UUID id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        TaskHistoryPageResponse historyResponse = taskHistoryService.getHistory(id, user.getId(), before, size);
+        return ResponseEntity.ok(historyResponse);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable UUID id,
             @RequestBody UpdateTaskRequest taskRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        TaskResponse taskResponse = idempotencyService.execute(user.getId(), idempotencyKey,
+                "updateTask", List.of(id, taskRequest), TaskResponse.class,
+                () -> taskService.updateTask(id, taskRequest, user.getId()));
+        return ResponseEntity.ok(taskResponse);
+    }
+
+    @PostMapping("/bulk-status")
+    public ResponseEntity<BulkStatusResponse> updateStatuses(
+            @RequestBody @Valid BulkStatusRequest statusRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        BulkStatusResponse statusResponse = idempotencyService.execute(user.getId(), idempotencyKey,
+                "updateStatuses", List.of(statusRequest), BulkStatusResponse.class,
+                () -> taskService.updateStatuses(statusRequest, user.getId()));
+        return ResponseEntity.ok(statusResponse);
+    }
+
+    @PutMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<TaskResponse> updateOccurrence(
+            @PathVariable UUID id,
+            @PathVariable LocalDate date,
+            @RequestBody @Valid UpdateOccurrenceRequest occurrenceRequest,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @AuthenticationPrincipal UserPrincipal user
     ){
-        TaskResponse taskResponse = taskService.updateTask(id, taskRequest, user.getId());
+        TaskResponse taskResponse = idempotencyService.execute(user.getId(), idempotencyKey,
+                "updateOccurrence", List.of(id, date, occurrenceRequest), TaskResponse.class,
+                () -> taskService.updateOccurrence(id, date, occurrenceRequest, user.getId()));
         return ResponseEntity.ok(taskResponse);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable UUID id, @AuthenticationPrincipal UserPrincipal user){
-        taskService.deleteTask(id, user.getId());
+    public ResponseEntity<Void> deleteTask(
+            @PathVariable UUID id,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        idempotencyService.execute(user.getId(), idempotencyKey, "deleteTask", List.of(id), Void.class, () -> {
+            taskService.deleteTask(id, user.getId());
+            return null;
+        });
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<TaskResponse> restoreTask(
+            @PathVariable UUID id,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @AuthenticationPrincipal UserPrincipal user
+    ){
+        TaskResponse taskResponse = idempotencyService.execute(user.getId(), idempotencyKey,
+                "restoreTask", List.of(id), TaskResponse.class,
+                () -> taskService.restoreTask(id, user.getId()));
+        return ResponseEntity.ok(taskResponse);
+    }
+
     @GetMapping("/status")
     public ResponseEntity<TaskStatus[]> getStatuses(){
         return ResponseEntity.ok(TaskStatus.values());
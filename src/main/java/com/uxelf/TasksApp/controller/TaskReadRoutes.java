@@ -0,0 +1,92 @@
+package com.uxelf.TasksApp.controller;
+
+import com.uxelf.TasksApp.exception.BusinessException;
+import com.uxelf.TasksApp.security.UserPrincipal;
+import com.uxelf.TasksApp.service.ReactiveTaskReader;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * GET /tasks, /tasks/day, /tasks/month and /tasks/{id} when the application runs on WebFlux,
+ * served by ReactiveTaskReader. WebFlux matches router functions before annotated controllers,
+ * so these take over the reads of TaskController; its other endpoints keep being served by it.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class TaskReadRoutes {
+
+    // Only ids go to getTask, /tasks/status, /tasks/stats and the like stay with TaskController
+    private static final String UUID_PATTERN = "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+
+    private final ReactiveTaskReader reactiveTaskReader;
+
+    @Bean
+    public RouterFunction<ServerResponse> taskReadRouter(){
+        return RouterFunctions.route()
+                .GET("/tasks", this::getUserTasks)
+                .GET("/tasks/day", this::getDayTasks)
+                .GET("/tasks/month", this::getMonthTasks)
+                .GET("/tasks/{id:" + UUID_PATTERN + "}", this::getTask)
+                .onError(BusinessException.class, (e, request) -> badRequest(e.getMessage()))
+                .onError(IllegalArgumentException.class, (e, request) -> badRequest(e.getMessage()))
+                .build();
+    }
+
+    private Mono<ServerResponse> getUserTasks(ServerRequest request){
+        return withUser(request, user -> reactiveTaskReader.getTasksByUser(user.getId()));
+    }
+
+    private Mono<ServerResponse> getDayTasks(ServerRequest request){
+        return withUser(request, user ->
+                reactiveTaskReader.getTasksForDay(user.getId(), parse(request, "date", LocalDate::parse)));
+    }
+
+    private Mono<ServerResponse> getMonthTasks(ServerRequest request){
+        return withUser(request, user ->
+                reactiveTaskReader.getTasksForMonth(user.getId(), parse(request, "date", YearMonth::parse)));
+    }
+
+    private Mono<ServerResponse> getTask(ServerRequest request){
+        return withUser(request, user ->
+                reactiveTaskReader.getTaskById(UUID.fromString(request.pathVariable("id")), user.getId()));
+    }
+
+    // Parsing happens inside read, so bad parameters surface as errors for onError
+    private Mono<ServerResponse> withUser(ServerRequest request, Function<UserPrincipal, Mono<?>> read){
+        return request.principal()
+                .map(principal -> (UserPrincipal) ((Authentication) principal).getPrincipal())
+                .flatMap(read)
+                .flatMap(body -> ServerResponse.ok().bodyValue(body));
+    }
+
+    // Same 400 as a missing or malformed @RequestParam on TaskController
+    private static <T> T parse(ServerRequest request, String name, Function<String, T> parser){
+        String value = request.queryParam(name)
+                .orElseThrow(() -> new IllegalArgumentException("Required parameter '" + name + "' is not present"));
+        try {
+            return parser.apply(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid value for parameter '" + name + "'");
+        }
+    }
+
+    private static Mono<ServerResponse> badRequest(String message){
+        return ServerResponse.badRequest().bodyValue(Map.of("error", message));
+    }
+}
@@ -0,0 +1,16 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BatchTasksRequest {
+
+    @NotEmpty(message = "Ids are required")
+    @Size(max = 500, message = "Cannot request more than 500 tasks at once")
+    private List<UUID> ids;
+}
@@ -0,0 +1,16 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+public class BatchTasksResponse {
+    // In the order they were requested, duplicates removed
+    private List<TaskResponse> tasks;
+    // Ids that don't exist or belong to another user; the two aren't told apart
+    private List<UUID> missing;
+}
@@ -0,0 +1,37 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves every one-off task of the user that matches all the given filters to {@code newStatus}.
+ * At least one filter is required; recurring series are changed per occurrence instead.
+ */
+@Data
+public class BulkStatusRequest {
+
+    @NotNull(message = "New status is required")
+    private TaskStatus newStatus;
+
+    @Size(max = 500, message = "Cannot select more than 500 tasks by id")
+    private List<UUID> ids;
+
+    // Tasks overlapping [from, to]; either end can be left open
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate to;
+
+    private TaskStatus currentStatus;
+
+    // Not completed and ended before today
+    private boolean overdue;
+}
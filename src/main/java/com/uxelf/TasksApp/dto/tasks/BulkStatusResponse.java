@@ -0,0 +1,12 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class BulkStatusResponse {
+    private int updated;
+}
@@ -26,4 +26,8 @@ public class CreateTaskRequest {
     @NotNull(message = "End date is required")
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate end;
+
+    // Optional RRULE, e.g. "FREQ=WEEKLY;BYDAY=MO,WE". start/end describe the first occurrence.
+    @Size(max = 255, message = "Recurrence cannot exceed 255 characters")
+    private String recurrence;
 }
@@ -0,0 +1,15 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class DayTasksResponse {
+    private LocalDate date;
+    // Tasks and occurrences active on date, by start and end date
+    private List<TaskResponse> tasks;
+}
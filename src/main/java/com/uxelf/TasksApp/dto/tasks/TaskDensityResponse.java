@@ -0,0 +1,15 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@Getter
+public class TaskDensityResponse {
+    private LocalDate from;
+    private LocalDate to;
+    // counts[i] is the number of tasks active on from + i days
+    private int[] counts;
+}
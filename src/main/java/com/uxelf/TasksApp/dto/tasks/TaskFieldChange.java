@@ -0,0 +1,17 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// Values as text, null when the field was empty; read back from task_history.changes
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@EqualsAndHashCode
+public class TaskFieldChange {
+    private String field;
+    private String from;
+    private String to;
+}
@@ -0,0 +1,15 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class TaskHistoryPageResponse {
+    // Newest first
+    private List<TaskHistoryResponse> entries;
+    // Pass as before to get the next page, null on the last one
+    private Long nextBefore;
+}
@@ -0,0 +1,17 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import com.uxelf.TasksApp.entity.enums.TaskChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class TaskHistoryResponse {
+    private long id;
+    private TaskChangeType changeType;
+    private Instant changedAt;
+    private List<TaskFieldChange> changes;
+}
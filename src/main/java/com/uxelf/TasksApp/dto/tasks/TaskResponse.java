@@ -3,11 +3,14 @@ package com.uxelf.TasksApp.dto.tasks;
 import com.uxelf.TasksApp.entity.enums.TaskStatus;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.util.UUID;
 
+// The no-args constructor lets a stored idempotent response be read back from JSON
 @AllArgsConstructor
+@NoArgsConstructor
 @Getter
 public class TaskResponse {
     private UUID id;
@@ -17,4 +20,7 @@ public class TaskResponse {
     private LocalDate start;
     private LocalDate end;
     private boolean expired;
+    private String recurrence;
+    // Start date of this occurrence when the task is expanded from a recurring series
+    private LocalDate occurrence;
 }
@@ -0,0 +1,19 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@AllArgsConstructor
+@Getter
+public class TaskStatsResponse {
+    private Map<TaskStatus, Long> byStatus;
+    private long total;
+    private long overdue;
+    private long dueThisWeek;
+    // Day overdue and dueThisWeek were evaluated on
+    private LocalDate asOf;
+}
@@ -0,0 +1,12 @@
+package com.uxelf.TasksApp.dto.tasks;
+
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class UpdateOccurrenceRequest {
+
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+}
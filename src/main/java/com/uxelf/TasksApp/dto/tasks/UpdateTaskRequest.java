@@ -23,4 +23,8 @@ public class UpdateTaskRequest {
 
     @JsonFormat(pattern = "yyyy-MM-dd")
     private LocalDate end;
+
+    // An empty string turns a recurring task back into a one-off task
+    @Size(max = 255, message = "Recurrence cannot exceed 255 characters")
+    private String recurrence;
 }
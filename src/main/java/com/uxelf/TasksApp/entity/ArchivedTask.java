@@ -0,0 +1,48 @@
+package com.uxelf.TasksApp.entity;
+
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Completed task moved out of the live tasks table by TaskArchiver. Rows are read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "tasks_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ArchivedTask {
+    @Id
+    @Column(columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 5000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDate start;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDate end;
+
+    @Column(name = "author_id", nullable = false, columnDefinition = "uuid")
+    private UUID authorId;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
@@ -0,0 +1,50 @@
+package com.uxelf.TasksApp.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outcome of a mutation sent with an Idempotency-Key, kept by DatabaseIdempotencyStore.
+ * {@code response} is the JSON body and stays null until the mutation has completed.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IdempotencyRecord {
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(columnDefinition = "text")
+    private String response;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Embeddable
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Key implements Serializable {
+        @Column(name = "user_id", columnDefinition = "uuid")
+        private UUID userId;
+
+        @Column(name = "idempotency_key")
+        private String idempotencyKey;
+    }
+}
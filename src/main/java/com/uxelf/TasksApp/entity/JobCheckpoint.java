@@ -0,0 +1,45 @@
+package com.uxelf.TasksApp.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The (end, id) cursor a chunked background job has committed up to.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class JobCheckpoint {
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "after_end", nullable = false)
+    private LocalDate afterEnd;
+
+    @Column(name = "after_id", nullable = false, columnDefinition = "uuid")
+    private UUID afterId;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public JobCheckpoint(String jobName, LocalDate afterEnd, UUID afterId) {
+        this.jobName = jobName;
+        this.afterEnd = afterEnd;
+        this.afterId = afterId;
+        this.updatedAt = Instant.now();
+    }
+
+    public void advance(LocalDate afterEnd, UUID afterId) {
+        this.afterEnd = afterEnd;
+        this.afterId = afterId;
+        this.updatedAt = Instant.now();
+    }
+}
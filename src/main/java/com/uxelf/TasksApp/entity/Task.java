@@ -6,12 +6,22 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.SoftDelete;
+import org.hibernate.annotations.SoftDeleteType;
 
 import java.time.LocalDate;
 import java.util.UUID;
 
 @Entity
 @Table(name = "tasks")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
+// delete() sets deleted_at instead of removing the row, and Hibernate leaves deleted rows out of
+// every query it generates; native queries filter on deleted_at themselves
+@SoftDelete(columnName = "deleted_at", strategy = SoftDeleteType.TIMESTAMP)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Task {
@@ -42,14 +52,31 @@ public class Task {
     @Column(name = "end_time", nullable = false)
     private LocalDate end;
 
+    // RRULE subset, see RecurrenceRule. Null for one-off tasks.
+    @Setter
+    @Column(name = "recurrence")
+    private String recurrence;
+
+    // End of the last occurrence, null when the series never ends
+    @Setter
+    @Column(name = "recurrence_end")
+    private LocalDate recurrenceEnd;
+
+    // author_id is the partition key when tasks is hash partitioned (db/partitioning), so it is
+    // mapped as a plain column that Hibernate adds to every UPDATE and DELETE it issues.
+    @PartitionKey
+    @Column(name = "author_id", nullable = false, columnDefinition = "uuid")
+    private UUID authorId;
+
     @ManyToOne
-    @JoinColumn(name = "author_id")
+    @JoinColumn(name = "author_id", insertable = false, updatable = false)
     private User author;
 
     public Task(String title, String description, LocalDate start, LocalDate end, User authorUser) {
         this.title = title;
         this.description = description;
         this.author = authorUser;
+        this.authorId = authorUser.getId();
         this.start = start;
         this.end = end;
     }
@@ -62,5 +89,6 @@ public class Task {
         this.start = start;
         this.end = end;
         this.author = author;
+        this.authorId = author.getId();
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.uxelf.TasksApp.entity;
+
+import com.uxelf.TasksApp.entity.enums.TaskChangeType;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One change of a task, written by TaskHistoryRecorder. Rows are read-only.
+ */
+@Entity
+@Immutable
+@Table(name = "task_history")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TaskHistory {
+    @Id
+    private Long id;
+
+    @Column(name = "task_id", nullable = false, columnDefinition = "uuid")
+    private UUID taskId;
+
+    @Column(name = "author_id", nullable = false, columnDefinition = "uuid")
+    private UUID authorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private TaskChangeType changeType;
+
+    // JSON array of TaskFieldChange
+    @Column(nullable = false)
+    private String changes;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,43 @@
+package com.uxelf.TasksApp.entity;
+
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Status of a single occurrence of a recurring task that differs from the series status.
+ * Occurrences themselves are never stored, only the exceptions.
+ */
+@Entity
+@Table(name = "task_occurrence_overrides")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TaskOccurrenceOverride {
+    @Id
+    @GeneratedValue
+    @Column(columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(name = "task_id", nullable = false, columnDefinition = "uuid")
+    private UUID taskId;
+
+    @Column(name = "occurrence_date", nullable = false)
+    private LocalDate occurrenceDate;
+
+    @Enumerated(EnumType.STRING)
+    @Setter
+    @Column(nullable = false)
+    private TaskStatus status;
+
+    public TaskOccurrenceOverride(UUID taskId, LocalDate occurrenceDate, TaskStatus status) {
+        this.taskId = taskId;
+        this.occurrenceDate = occurrenceDate;
+        this.status = status;
+    }
+}
@@ -0,0 +1,49 @@
+package com.uxelf.TasksApp.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Task counters of one user, maintained incrementally by TaskStatsService.
+ * Overdue and due-this-week are relative to {@code asOf}, not to the current date.
+ */
+@Entity
+@Table(name = "task_stats")
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TaskStats {
+    @Id
+    @Setter(AccessLevel.NONE)
+    @Column(name = "user_id", columnDefinition = "uuid")
+    private UUID userId;
+
+    @Column(nullable = false)
+    private long pending;
+
+    @Column(name = "in_progress", nullable = false)
+    private long inProgress;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(nullable = false)
+    private long overdue;
+
+    @Column(name = "due_this_week", nullable = false)
+    private long dueThisWeek;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDate asOf;
+
+    public TaskStats(UUID userId, LocalDate asOf) {
+        this.userId = userId;
+        this.asOf = asOf;
+    }
+}
@@ -0,0 +1,8 @@
+package com.uxelf.TasksApp.entity.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESTORED
+}
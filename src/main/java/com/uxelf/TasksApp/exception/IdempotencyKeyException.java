@@ -0,0 +1,18 @@
+package com.uxelf.TasksApp.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * An Idempotency-Key that can't be honoured: its first request is still running (409) or the
+ * key was sent with a different request (422).
+ */
+@Getter
+public class IdempotencyKeyException extends RuntimeException{
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(HttpStatus status, String message){
+        super(message);
+        this.status = status;
+    }
+}
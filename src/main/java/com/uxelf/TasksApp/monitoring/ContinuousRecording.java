@@ -0,0 +1,103 @@
+package com.uxelf.TasksApp.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * A JFR recording that runs for the life of the process, for production. Off by default,
+ * tasks.jfr.continuous.enabled=true turns it on.
+ *
+ * It uses the JDK's low-overhead "default" settings (tasks.jfr.continuous.settings) and keeps
+ * the last max-age, up to max-size, on disk. TaskRequestEvent is recorded for requests slower
+ * than request-threshold only, so a spike can be looked into without recording every request.
+ * To take a look, dump it with {@code jcmd <pid> JFR.dump name=tasks-continuous filename=...};
+ * with dump-on-exit set, it's also written there when the application stops.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.jfr.continuous.enabled", havingValue = "true")
+public class ContinuousRecording implements SmartLifecycle {
+
+    public static final String NAME = "tasks-continuous";
+
+    private static final Logger log = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private final String settings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration requestThreshold;
+    private final String dumpOnExit;
+    private Recording recording;
+
+    public ContinuousRecording(
+            @Value("${tasks.jfr.continuous.settings:default}") String settings,
+            @Value("${tasks.jfr.continuous.max-age:PT6H}") Duration maxAge,
+            @Value("${tasks.jfr.continuous.max-size:256MB}") DataSize maxSize,
+            @Value("${tasks.jfr.continuous.request-threshold:PT0.02S}") Duration requestThreshold,
+            @Value("${tasks.jfr.continuous.dump-on-exit:}") String dumpOnExit
+    ) {
+        this.settings = settings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.requestThreshold = requestThreshold;
+        this.dumpOnExit = dumpOnExit;
+    }
+
+    @Override
+    public void start() {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Unknown JFR settings: " + settings, e);
+        }
+
+        recording = new Recording(configuration);
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.enable(TaskRequestEvent.class).withThreshold(requestThreshold);
+        if (!dumpOnExit.isBlank()) {
+            try {
+                recording.setDestination(Path.of(dumpOnExit));
+            } catch (IOException e) {
+                throw new IllegalStateException("Can't write the JFR recording to " + dumpOnExit, e);
+            }
+        }
+        recording.start();
+        log.info("Continuous JFR recording '{}' started, keeping {} up to {}", NAME, maxAge, maxSize);
+    }
+
+    // With a destination set, stopping writes the recording out
+    @Override
+    public void stop() {
+        if (recording != null) {
+            recording.stop();
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording != null;
+    }
+
+    // Stopped after the other lifecycle beans, so shutdown is recorded too
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,30 @@
+package com.uxelf.TasksApp.monitoring;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+// Counts the time spent in Spring Data repository calls as the DATABASE phase. Outermost, so
+// the transaction a repository method opens and commits itself is counted too
+@Component
+public class RepositoryPhaseTimer implements BeanPostProcessor {
+
+    private static final MethodInterceptor TIMER = invocation -> {
+        long startedAt = RequestPhases.start();
+        try {
+            return invocation.proceed();
+        } finally {
+            RequestPhases.end(RequestPhase.DATABASE, startedAt);
+        }
+    };
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, TIMER)));
+        }
+        return bean;
+    }
+}
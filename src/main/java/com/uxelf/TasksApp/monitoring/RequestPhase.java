@@ -0,0 +1,12 @@
+package com.uxelf.TasksApp.monitoring;
+
+// Where a request spends its time, as measured by RequestPhases
+public enum RequestPhase {
+    JWT,
+    USER_LOOKUP,
+    // From the controller being called until the body is written, includes DATABASE and MAPPING
+    SERVICE,
+    DATABASE,
+    MAPPING,
+    SERIALIZATION
+}
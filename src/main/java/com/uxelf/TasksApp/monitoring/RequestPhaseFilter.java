@@ -0,0 +1,120 @@
+package com.uxelf.TasksApp.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Measures the phases of a request while a JFR recording has TaskRequestEvent enabled, and
+ * commits the event once the response is written. Runs ahead of Spring Security so JWT
+ * verification is part of the request.
+ *
+ * With tasks.server-timing.enabled=true every request is measured and the phases go out in a
+ * Server-Timing header, so they show up in the browser's devtools. Headers go before the body,
+ * so the body is buffered to get the JSON writing in too. Off by default: it tells clients
+ * how long authentication and queries take.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestPhaseFilter extends OncePerRequestFilter {
+
+    private final boolean serverTiming;
+
+    public RequestPhaseFilter(@Value("${tasks.server-timing.enabled:false}") boolean serverTiming) {
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        TaskRequestEvent event = new TaskRequestEvent();
+        boolean recording = event.isEnabled();
+        if (!recording && !serverTiming) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestPhases phases = RequestPhases.activate();
+        ContentCachingResponseWrapper buffered = serverTiming ? new ContentCachingResponseWrapper(response) : null;
+        long startedAt = System.nanoTime();
+        event.begin();
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            long now = System.nanoTime();
+            phases.finish(now);
+            event.end();
+            if (recording && event.shouldCommit()) {
+                event.method = request.getMethod();
+                event.endpoint = endpoint(request);
+                event.status = response.getStatus();
+                event.userIdHash = phases.userIdHash();
+                event.jwt = phases.nanos(RequestPhase.JWT);
+                event.userLookup = phases.nanos(RequestPhase.USER_LOOKUP);
+                event.service = phases.nanos(RequestPhase.SERVICE);
+                event.database = phases.nanos(RequestPhase.DATABASE);
+                event.mapping = phases.nanos(RequestPhase.MAPPING);
+                event.serialization = phases.nanos(RequestPhase.SERIALIZATION);
+                event.commit();
+            }
+            RequestPhases.deactivate();
+
+            if (buffered != null) {
+                // After an error was sent the headers are gone already
+                if (!buffered.isCommitted()) {
+                    buffered.setHeader("Server-Timing", serverTimingHeader(phases, now - startedAt));
+                }
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    // The raw path carries task ids, the pattern keeps endpoints groupable
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+
+    static String serverTimingHeader(RequestPhases phases, long totalNanos) {
+        StringBuilder header = new StringBuilder(160);
+        appendMetric(header, "auth", "JWT and user lookup",
+                phases.nanos(RequestPhase.JWT) + phases.nanos(RequestPhase.USER_LOOKUP));
+        appendMetric(header, "svc", "Service", phases.nanos(RequestPhase.SERVICE));
+        appendMetric(header, "db", "Database", phases.nanos(RequestPhase.DATABASE));
+        appendMetric(header, "ser", "JSON writing", phases.nanos(RequestPhase.SERIALIZATION));
+        appendMetric(header, "total", "Total", totalNanos);
+        return header.toString();
+    }
+
+    // Milliseconds with microsecond precision, e.g. dur=12.034
+    private static void appendMetric(StringBuilder header, String name, String description, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        long micros = nanos / 1_000 % 1_000;
+        header.append(name).append(";dur=").append(nanos / 1_000_000).append('.');
+        if (micros < 100) {
+            header.append('0');
+        }
+        if (micros < 10) {
+            header.append('0');
+        }
+        header.append(micros).append(";desc=\"").append(description).append('"');
+    }
+}
@@ -0,0 +1,113 @@
+package com.uxelf.TasksApp.monitoring;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Time spent per RequestPhase by the request running on the current thread.
+ *
+ * Instrumented code brackets a phase with {@code long startedAt = RequestPhases.start()} and
+ * {@code RequestPhases.end(phase, startedAt)} in a finally block; SERVICE and SERIALIZATION
+ * are marked by where they start instead. Unless RequestPhaseFilter activated measuring for the request, nothing
+ * reads the clock, so the instrumentation costs a thread-local lookup. The durations live in
+ * an array reused by every request on the same thread.
+ */
+public final class RequestPhases {
+
+    private static final ThreadLocal<RequestPhases> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<RequestPhases> REUSED = ThreadLocal.withInitial(RequestPhases::new);
+
+    private final long[] nanos = new long[RequestPhase.values().length];
+    private int open;
+    private long handlerStartedAt;
+    private long serializationStartedAt;
+    private int userIdHash;
+
+    private RequestPhases() {
+    }
+
+    // A phase started inside another, like the user lookup's query, isn't measured: its time
+    // belongs to the outer one, so no time is counted twice
+    public static long start() {
+        RequestPhases phases = CURRENT.get();
+        if (phases == null || phases.open > 0) {
+            return 0;
+        }
+        phases.open++;
+        return System.nanoTime();
+    }
+
+    public static void end(RequestPhase phase, long startedAt) {
+        if (startedAt == 0) {
+            return;
+        }
+        RequestPhases phases = CURRENT.get();
+        if (phases != null) {
+            phases.open--;
+            phases.nanos[phase.ordinal()] += System.nanoTime() - startedAt;
+        }
+    }
+
+    public static void handlerStarted() {
+        RequestPhases phases = CURRENT.get();
+        if (phases != null && phases.handlerStartedAt == 0) {
+            phases.handlerStartedAt = System.nanoTime();
+        }
+    }
+
+    // The body is written after the handler returns, so serialization runs until the filter is done
+    public static void serializationStarted() {
+        RequestPhases phases = CURRENT.get();
+        if (phases != null && phases.serializationStartedAt == 0) {
+            long now = System.nanoTime();
+            phases.handlerEnded(now);
+            phases.serializationStartedAt = now;
+        }
+    }
+
+    // Only a hash leaves the process, recordings can be shared without exposing user ids
+    public static void user(UUID userId) {
+        RequestPhases phases = CURRENT.get();
+        if (phases != null) {
+            phases.userIdHash = userId.hashCode();
+        }
+    }
+
+    static RequestPhases activate() {
+        RequestPhases phases = REUSED.get();
+        Arrays.fill(phases.nanos, 0);
+        phases.open = 0;
+        phases.handlerStartedAt = 0;
+        phases.serializationStartedAt = 0;
+        phases.userIdHash = 0;
+        CURRENT.set(phases);
+        return phases;
+    }
+
+    static void deactivate() {
+        CURRENT.remove();
+    }
+
+    void finish(long now) {
+        handlerEnded(now);
+        if (serializationStartedAt != 0) {
+            nanos[RequestPhase.SERIALIZATION.ordinal()] += now - serializationStartedAt;
+            serializationStartedAt = 0;
+        }
+    }
+
+    private void handlerEnded(long now) {
+        if (handlerStartedAt != 0) {
+            nanos[RequestPhase.SERVICE.ordinal()] += now - handlerStartedAt;
+            handlerStartedAt = 0;
+        }
+    }
+
+    long nanos(RequestPhase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    int userIdHash() {
+        return userIdHash;
+    }
+}
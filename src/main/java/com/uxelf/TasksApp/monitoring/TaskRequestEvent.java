@@ -0,0 +1,61 @@
+package com.uxelf.TasksApp.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One HTTP request with the time it spent in each phase, committed by RequestPhaseFilter. The
+ * event's own duration is the whole request. Service covers the controller call, database and
+ * response mapping included; what isn't covered by a phase went to the other filters.
+ */
+@Name("com.uxelf.tasks.Request")
+@Label("Task Request")
+@Category({"TasksApp", "HTTP"})
+@Description("HTTP request with a per-phase time breakdown")
+@StackTrace(false)
+public class TaskRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Matched route pattern, e.g. /tasks/{id}")
+    String endpoint;
+
+    @Label("Status")
+    int status;
+
+    @Label("User Id Hash")
+    int userIdHash;
+
+    @Label("JWT Verification")
+    @Timespan
+    long jwt;
+
+    @Label("User Lookup")
+    @Timespan
+    long userLookup;
+
+    @Label("Service")
+    @Description("From the controller being called until the body is written")
+    @Timespan
+    long service;
+
+    @Label("Database")
+    @Description("Time in repository calls outside the user lookup")
+    @Timespan
+    long database;
+
+    @Label("Response Mapping")
+    @Timespan
+    long mapping;
+
+    @Label("JSON Writing")
+    @Timespan
+    long serialization;
+}
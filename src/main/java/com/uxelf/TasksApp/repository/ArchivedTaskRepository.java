@@ -0,0 +1,62 @@
+package com.uxelf.TasksApp.repository;
+
+import com.uxelf.TasksApp.entity.ArchivedTask;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, UUID> {
+    Optional<ArchivedTask> findByIdAndAuthorId(UUID id, UUID authorId);
+
+    List<ArchivedTask> findByAuthorIdAndIdIn(UUID authorId, Collection<UUID> ids);
+
+    List<ArchivedTask> findByAuthorIdOrderByEndDescIdDesc(UUID authorId, Pageable pageable);
+
+    // Next chunk of archivable tasks after the (end, id) cursor, oldest first
+    @Query("""
+        SELECT t.id, t.authorId, t.end
+        FROM Task t
+        WHERE t.status = com.uxelf.TasksApp.entity.enums.TaskStatus.COMPLETED
+          AND t.recurrence IS NULL
+          AND t.end < :cutoff
+          AND (t.end > :afterEnd OR (t.end = :afterEnd AND t.id > :afterId))
+        ORDER BY t.end, t.id
+    """)
+    List<Object[]> findArchivableKeys(
+            @Param("cutoff") LocalDate cutoff,
+            @Param("afterEnd") LocalDate afterEnd,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    // The status is checked again so a task reopened since the key scan stays live. The native
+    // spaces hint limits second-level cache invalidation to the tables the statement touches.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = """
+        WITH moved AS (
+            DELETE FROM tasks
+            WHERE id IN (:ids)
+              AND author_id IN (:authorIds)
+              AND status = 'COMPLETED'
+              AND recurrence IS NULL
+              AND deleted_at IS NULL
+            RETURNING id, title, description, status, start_time, end_time, author_id
+        )
+        INSERT INTO tasks_archive (id, title, description, status, start_time, end_time, author_id, archived_at)
+        SELECT id, title, description, status, start_time, end_time, author_id, now()
+        FROM moved
+    """, nativeQuery = true)
+    int moveToArchive(@Param("ids") Collection<UUID> ids, @Param("authorIds") Collection<UUID> authorIds);
+}
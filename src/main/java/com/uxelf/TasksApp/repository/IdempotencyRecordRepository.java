@@ -0,0 +1,72 @@
+package com.uxelf.TasksApp.repository;
+
+import com.uxelf.TasksApp.entity.IdempotencyRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key> {
+
+    // Claims the key for a new request; an expired row is taken over. Returns 0 when the key is
+    // already held, whether the request that holds it has finished or not.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+        INSERT INTO idempotency_keys (user_id, idempotency_key, fingerprint, completed, expires_at)
+        VALUES (:userId, :key, :fingerprint, false, :expiresAt)
+        ON CONFLICT (user_id, idempotency_key) DO UPDATE
+        SET fingerprint = EXCLUDED.fingerprint,
+            completed = false,
+            response = NULL,
+            expires_at = EXCLUDED.expires_at
+        WHERE idempotency_keys.expires_at < :now
+    """, nativeQuery = true)
+    int reserve(
+            @Param("userId") UUID userId,
+            @Param("key") String key,
+            @Param("fingerprint") String fingerprint,
+            @Param("now") Instant now,
+            @Param("expiresAt") Instant expiresAt
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+        UPDATE idempotency_keys
+        SET completed = true,
+            response = :response
+        WHERE user_id = :userId
+          AND idempotency_key = :key
+    """, nativeQuery = true)
+    int complete(@Param("userId") UUID userId, @Param("key") String key, @Param("response") String response);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+        DELETE FROM idempotency_keys
+        WHERE user_id = :userId
+          AND idempotency_key = :key
+          AND completed = false
+    """, nativeQuery = true)
+    int release(@Param("userId") UUID userId, @Param("key") String key);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = """
+        DELETE FROM idempotency_keys
+        WHERE ctid IN (
+            SELECT ctid
+            FROM idempotency_keys
+            WHERE expires_at < :now
+            LIMIT :limit
+        )
+    """, nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
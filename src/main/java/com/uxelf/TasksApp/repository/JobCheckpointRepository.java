@@ -0,0 +1,13 @@
+package com.uxelf.TasksApp.repository;
+
+import com.uxelf.TasksApp.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    // Held until the surrounding transaction ends; false when another node holds it
+    @Query(value = "SELECT pg_try_advisory_xact_lock(hashtext(:jobName))", nativeQuery = true)
+    boolean tryLock(@Param("jobName") String jobName);
+}
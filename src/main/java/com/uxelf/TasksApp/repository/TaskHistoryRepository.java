@@ -0,0 +1,13 @@
+package com.uxelf.TasksApp.repository;
+
+import com.uxelf.TasksApp.entity.TaskHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskHistoryRepository extends JpaRepository<TaskHistory, Long> {
+    // Newest first, keyset on id
+    List<TaskHistory> findByTaskIdAndAuthorIdAndIdLessThanOrderByIdDesc(UUID taskId, UUID authorId, long beforeId, Pageable pageable);
+}
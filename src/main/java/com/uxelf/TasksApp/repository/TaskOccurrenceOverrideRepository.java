@@ -0,0 +1,31 @@
+package com.uxelf.TasksApp.repository;
+
+import com.uxelf.TasksApp.entity.TaskOccurrenceOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TaskOccurrenceOverrideRepository extends JpaRepository<TaskOccurrenceOverride, UUID> {
+    Optional<TaskOccurrenceOverride> findByTaskIdAndOccurrenceDate(UUID taskId, LocalDate occurrenceDate);
+
+    List<TaskOccurrenceOverride> findByTaskIdInAndOccurrenceDateBetween(
+            Collection<UUID> taskIds,
+            LocalDate from,
+            LocalDate to
+    );
+
+    // tasks can't be referenced by a foreign key once it is partitioned, so no cascade; the
+    // overrides of a deleted task are kept until its tombstone is purged, for restores
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskOccurrenceOverride o WHERE o.taskId IN :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+}
@@ -2,22 +2,35 @@ package com.uxelf.TasksApp.repository;
 
 import com.uxelf.TasksApp.entity.Task;
 import com.uxelf.TasksApp.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TaskRepository extends JpaRepository<Task, UUID> {
     List<Task> findByAuthor(User user);
     List<Task> findByAuthorId(UUID userId);
+    // Cached as a list of ids, the task itself is then read from the Task region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<Task> findByIdAndAuthorId(UUID id, UUID authorId);
+    List<Task> findByAuthorIdAndIdIn(UUID authorId, Collection<UUID> ids);
 
     @Query("""
         SELECT t
         FROM Task t
         WHERE t.author.id = :userId
+          AND t.recurrence IS NULL
           AND t.start <= :date
           AND t.end >= :date
     """)
@@ -30,6 +43,7 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
         SELECT t
         FROM Task t
         WHERE t.author.id = :userId
+          AND t.recurrence IS NULL
           AND t.start <= :monthEnd
           AND t.end >= :monthStart
     """)
@@ -38,4 +52,208 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
             @Param("monthStart") LocalDate monthStart,
             @Param("monthEnd") LocalDate monthEnd
     );
+
+    // One-off tasks and recurring series that can have an occurrence in [from, to], in one query
+    @Query("""
+        SELECT t
+        FROM Task t
+        WHERE t.author.id = :userId
+          AND t.start <= :to
+          AND ((t.recurrence IS NULL AND t.end >= :from)
+            OR (t.recurrence IS NOT NULL AND (t.recurrenceEnd IS NULL OR t.recurrenceEnd >= :from)))
+    """)
+    List<Task> findTasksAndSeriesOverlapping(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    // Only the dates, for per-day counts that don't need the tasks themselves
+    @Query("""
+        SELECT t.start, t.end
+        FROM Task t
+        WHERE t.author.id = :userId
+          AND t.recurrence IS NULL
+          AND t.start <= :to
+          AND t.end >= :from
+    """)
+    List<Object[]> findSpansOverlapping(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    @Query("""
+        SELECT t
+        FROM Task t
+        WHERE t.author.id = :userId
+          AND t.recurrence IS NOT NULL
+          AND t.start <= :to
+          AND (t.recurrenceEnd IS NULL OR t.recurrenceEnd >= :from)
+    """)
+    List<Task> findRecurringTasksOverlapping(
+            @Param("userId") UUID userId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    // Set-based status change of the author's one-off tasks matching every filter: an empty ids
+    // array matches any id, and unused date filters get open-ended bounds. The inner SELECT locks
+    // the rows and remembers their previous status, which RETURNING hands back for the counters.
+    @Query(value = """
+        UPDATE tasks t
+        SET status = :newStatus
+        FROM (
+            SELECT id, author_id, status AS old_status
+            FROM tasks
+            WHERE author_id = :userId
+              AND recurrence IS NULL
+              AND status <> :newStatus
+              AND status = ANY(:statuses)
+              AND (cardinality(:ids) = 0 OR id = ANY(:ids))
+              AND deleted_at IS NULL
+              AND start_time <= :to
+              AND end_time >= :from
+              AND end_time < :endBefore
+            FOR UPDATE
+        ) old
+        WHERE t.author_id = :userId
+          AND t.author_id = old.author_id
+          AND t.id = old.id
+        RETURNING t.id, old.old_status, t.end_time
+    """, nativeQuery = true)
+    List<Object[]> updateStatuses(
+            @Param("userId") UUID userId,
+            @Param("newStatus") String newStatus,
+            @Param("statuses") String[] statuses,
+            @Param("ids") UUID[] ids,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("endBefore") LocalDate endBefore
+    );
+
+    // Applies many independent (id, author, status) changes in one statement. Rows that are
+    // gone or already in the new status are skipped; RETURNING carries what the counters need.
+    @Query(value = """
+        UPDATE tasks t
+        SET status = old.new_status
+        FROM (
+            SELECT tasks.id, tasks.author_id, tasks.status AS old_status, c.new_status
+            FROM tasks
+            JOIN unnest(:ids, :authorIds, :statuses) AS c(id, author_id, new_status)
+              ON tasks.id = c.id AND tasks.author_id = c.author_id
+            WHERE tasks.status <> c.new_status
+              AND tasks.deleted_at IS NULL
+            FOR UPDATE OF tasks
+        ) old
+        WHERE t.author_id = old.author_id
+          AND t.id = old.id
+        RETURNING t.id, t.author_id, old.old_status, t.status, t.end_time, t.recurrence IS NOT NULL
+    """, nativeQuery = true)
+    List<Object[]> applyStatuses(
+            @Param("ids") UUID[] ids,
+            @Param("authorIds") UUID[] authorIds,
+            @Param("statuses") String[] statuses
+    );
+
+    // Next chunk of tasks that can still get a reminder, after the (end, id) cursor
+    @Query("""
+        SELECT t.id, t.authorId, t.title, t.end
+        FROM Task t
+        WHERE t.status <> com.uxelf.TasksApp.entity.enums.TaskStatus.COMPLETED
+          AND t.recurrence IS NULL
+          AND t.end <= :to
+          AND (t.end > :afterEnd OR (t.end = :afterEnd AND t.id > :afterId))
+        ORDER BY t.end, t.id
+    """)
+    List<Object[]> findReminderCandidates(
+            @Param("to") LocalDate to,
+            @Param("afterEnd") LocalDate afterEnd,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    // The ones among :ids that still want their reminder, with their current title and end
+    @Query("""
+        SELECT t.id, t.title, t.end
+        FROM Task t
+        WHERE t.id IN :ids
+          AND t.status <> com.uxelf.TasksApp.entity.enums.TaskStatus.COMPLETED
+          AND t.recurrence IS NULL
+    """)
+    List<Object[]> findReminderTargets(@Param("ids") Collection<UUID> ids);
+
+    // Next chunk of overdue one-off tasks after the (end, id) cursor, oldest first
+    @Query("""
+        SELECT t.id, t.authorId, t.title, t.end
+        FROM Task t
+        WHERE t.status <> com.uxelf.TasksApp.entity.enums.TaskStatus.COMPLETED
+          AND t.recurrence IS NULL
+          AND t.end < :today
+          AND (t.end > :afterEnd OR (t.end = :afterEnd AND t.id > :afterId))
+        ORDER BY t.end, t.id
+    """)
+    List<Object[]> findOverdueAfter(
+            @Param("today") LocalDate today,
+            @Param("afterEnd") LocalDate afterEnd,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    // overdue_since isn't mapped on Task, so these run as queries: Hibernate has nothing to
+    // invalidate and leaves the second-level cache alone
+    @Query(value = """
+        UPDATE tasks
+        SET overdue_since = end_time + 1
+        WHERE id IN (:ids)
+          AND author_id IN (:authorIds)
+          AND status <> 'COMPLETED'
+          AND overdue_since IS NULL
+          AND deleted_at IS NULL
+        RETURNING id
+    """, nativeQuery = true)
+    List<UUID> flagOverdue(@Param("ids") Collection<UUID> ids, @Param("authorIds") Collection<UUID> authorIds);
+
+    @Query(value = """
+        UPDATE tasks
+        SET overdue_since = NULL
+        WHERE (author_id, id) IN (
+            SELECT author_id, id
+            FROM tasks
+            WHERE overdue_since IS NOT NULL
+              AND (status = 'COMPLETED' OR end_time >= :today)
+            LIMIT :limit
+        )
+        RETURNING id
+    """, nativeQuery = true)
+    List<UUID> clearResolvedOverdue(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    // Tombstones aren't visible to Hibernate, so they're brought back natively. The native spaces
+    // hint drops the cached tasks and query results, which may still say the task is gone.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+    @Query(value = """
+        UPDATE tasks
+        SET deleted_at = NULL
+        WHERE id = :id
+          AND author_id = :authorId
+          AND deleted_at >= :deletedSince
+    """, nativeQuery = true)
+    int restore(@Param("id") UUID id, @Param("authorId") UUID authorId, @Param("deletedSince") Instant deletedSince);
+
+    // Oldest tombstones first; rows locked by a concurrent restore are left for the next batch.
+    // Run as a query, tombstones were evicted from the second-level cache when they were deleted.
+    @Query(value = """
+        DELETE FROM tasks
+        WHERE (author_id, id) IN (
+            SELECT author_id, id
+            FROM tasks
+            WHERE deleted_at < :deletedBefore
+            ORDER BY deleted_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
+    """, nativeQuery = true)
+    List<UUID> purgeDeleted(@Param("deletedBefore") Instant deletedBefore, @Param("limit") int limit);
 }
@@ -0,0 +1,76 @@
+package com.uxelf.TasksApp.repository;
+
+import com.uxelf.TasksApp.entity.TaskStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TaskStatsRepository extends JpaRepository<TaskStats, UUID> {
+
+    // Concurrent first writes of a user both land here, so the row is created race-free
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats"))
+    @Query(value = """
+        INSERT INTO task_stats (user_id, as_of)
+        VALUES (:userId, :asOf)
+        ON CONFLICT (user_id) DO NOTHING
+    """, nativeQuery = true)
+    void insertIfAbsent(@Param("userId") UUID userId, @Param("asOf") LocalDate asOf);
+
+    // Serializes the counter updates of one user until the surrounding transaction commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TaskStats s WHERE s.userId = :userId")
+    Optional<TaskStats> findForUpdate(@Param("userId") UUID userId);
+
+    // Next chunk of users whose date-driven counts were computed before :today, locked so
+    // writers wait for the recount instead of applying deltas against the old date
+    @Query(value = """
+        SELECT user_id
+        FROM task_stats
+        WHERE as_of < :today
+        ORDER BY as_of, user_id
+        LIMIT :limit
+        FOR UPDATE
+    """, nativeQuery = true)
+    List<UUID> lockStale(@Param("today") LocalDate today, @Param("limit") int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "task_stats"))
+    @Query(value = """
+        UPDATE task_stats s
+        SET overdue = c.overdue,
+            due_this_week = c.due_this_week,
+            as_of = :today
+        FROM (
+            SELECT st.user_id,
+                   count(t.id) FILTER (WHERE t.end_time < :today) AS overdue,
+                   count(t.id) FILTER (WHERE t.end_time >= :today AND t.end_time <= :weekEnd) AS due_this_week
+            FROM task_stats st
+            LEFT JOIN tasks t
+              ON t.author_id = st.user_id
+             AND t.status <> 'COMPLETED'
+             AND t.recurrence IS NULL
+             AND t.deleted_at IS NULL
+            WHERE st.user_id IN (:userIds)
+            GROUP BY st.user_id
+        ) c
+        WHERE s.user_id = c.user_id
+    """, nativeQuery = true)
+    int recountDateDriven(
+            @Param("userIds") Collection<UUID> userIds,
+            @Param("today") LocalDate today,
+            @Param("weekEnd") LocalDate weekEnd
+    );
+}
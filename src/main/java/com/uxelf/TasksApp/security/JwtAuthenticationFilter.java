@@ -1,8 +1,11 @@
 package com.uxelf.TasksApp.security;
 
+import com.uxelf.TasksApp.monitoring.RequestPhase;
+import com.uxelf.TasksApp.monitoring.RequestPhases;
 import com.uxelf.TasksApp.repository.UserRepository;
 import com.uxelf.TasksApp.service.JwtService;
 import com.uxelf.TasksApp.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -37,11 +40,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = extractTokenFromRequest(request);
         try {
-            var claims = jwtService.validateToken(token);
+            var claims = verifyToken(token);
             String idString = claims.get("id", String.class);
             UUID id = UUID.fromString(idString);
+            RequestPhases.user(id);
 
-            userService.getUserById(id);
+            long lookupStartedAt = RequestPhases.start();
+            try {
+                userService.getUserById(id);
+            } finally {
+                RequestPhases.end(RequestPhase.USER_LOOKUP, lookupStartedAt);
+            }
 
             UserPrincipal principal = new UserPrincipal(
                     id,
@@ -65,6 +74,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private Claims verifyToken(String token){
+        long startedAt = RequestPhases.start();
+        try {
+            return jwtService.validateToken(token);
+        } finally {
+            RequestPhases.end(RequestPhase.JWT, startedAt);
+        }
+    }
+
     private String extractTokenFromRequest(HttpServletRequest request){
         Cookie[] cookies = request.getCookies();
         if (cookies != null) {
@@ -0,0 +1,61 @@
+package com.uxelf.TasksApp.security;
+
+import com.uxelf.TasksApp.service.JwtService;
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpCookie;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * JwtAuthenticationFilter for WebFlux: the same "jwt" cookie and the same check that the user
+ * still exists, done over R2DBC. Requests without a valid token go on unauthenticated.
+ */
+@AllArgsConstructor
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst("jwt");
+        if (cookie == null) {
+            return chain.filter(exchange);
+        }
+
+        UserPrincipal principal;
+        try {
+            Claims claims = jwtService.validateToken(cookie.getValue());
+            principal = new UserPrincipal(
+                    UUID.fromString(claims.get("id", String.class)),
+                    claims.get("username", String.class)
+            );
+        } catch (Exception e) {
+            return chain.filter(exchange);
+        }
+
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                Collections.emptyList()
+        );
+
+        return databaseClient.sql("SELECT 1 FROM users WHERE id = :id")
+                .bind("id", principal.getId())
+                .map(row -> true)
+                .one()
+                .defaultIfEmpty(false)
+                .flatMap(exists -> exists
+                        ? chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth))
+                        : chain.filter(exchange));
+    }
+}
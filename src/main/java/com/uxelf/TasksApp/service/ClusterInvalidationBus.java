@@ -0,0 +1,265 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the per-node caches of several TasksApp instances in step, off unless
+ * tasks.cluster-invalidation.enabled is set.
+ *
+ * Writers report which user and tasks changed. After commit the reports are merged per user and
+ * sent every publish-interval with pg_notify; each NOTIFY carries the sending node and a sequence
+ * number. Other nodes receive them through ClusterInvalidationListener and drop the matching Task
+ * and User entries, the cached query results and the user's coalesced reads.
+ *
+ * A gap in a node's sequence numbers, or a lost listener connection, means messages were missed:
+ * the receiving node then flushes every cache.
+ *
+ * Payload, one line per user after a "node:sequence" header:
+ * {@code userId/taskId,taskId}, where * stands for all tasks of the user.
+ */
+@Service
+public class ClusterInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterInvalidationBus.class);
+    // NOTIFY payloads must stay below 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final int MAX_TASK_IDS = 32;
+    private static final String ALL = "*";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<UUID, Invalidation> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> lastSequences = new ConcurrentHashMap<>();
+    // Held across pg_notify; a monitor would pin a virtual scheduler thread to its carrier (JDK 21)
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReadCoalescer readCoalescer;
+    private final boolean enabled;
+    private final String channel;
+
+    public ClusterInvalidationBus(
+            JdbcTemplate jdbcTemplate,
+            EntityManagerFactory entityManagerFactory,
+            ReadCoalescer readCoalescer,
+            @Value("${tasks.cluster-invalidation.enabled:false}") boolean enabled,
+            @Value("${tasks.cluster-invalidation.channel:tasks_invalidation}") String channel
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.readCoalescer = readCoalescer;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void taskChanged(UUID userId, UUID taskId) {
+        record(new Invalidation(userId, Set.of(taskId)));
+    }
+
+    public void tasksChanged(UUID userId, Collection<UUID> taskIds) {
+        record(new Invalidation(userId, Set.copyOf(taskIds)));
+    }
+
+    public void userChanged(UUID userId) {
+        record(new Invalidation(userId, Set.of()));
+    }
+
+    private void record(Invalidation invalidation) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.merge(invalidation.userId(), invalidation, Invalidation::merge);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.merge(invalidation.userId(), invalidation, Invalidation::merge);
+            }
+        });
+    }
+
+    // Runs on one scheduler thread at a time, so sequence numbers go out in order
+    @Scheduled(fixedDelayString = "${tasks.cluster-invalidation.publish-interval:PT0.05S}")
+    public void publishPending() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+        publishLock.lock();
+        try {
+            publishDrained();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void publishDrained() {
+        List<Invalidation> drained = new ArrayList<>();
+        for (Map.Entry<UUID, Invalidation> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(entry.getValue());
+            }
+        }
+
+        List<Invalidation> unsent = new ArrayList<>(drained);
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (Invalidation invalidation : drained) {
+                String line = invalidation.encode();
+                if (lines.length() > 0 && bytes(lines) + bytes(line) + 64 > MAX_PAYLOAD_BYTES) {
+                    send(lines.toString());
+                    unsent.subList(0, countLines(lines)).clear();
+                    lines.setLength(0);
+                }
+                lines.append('\n').append(line);
+            }
+            if (lines.length() > 0) {
+                send(lines.toString());
+            }
+        } catch (RuntimeException e) {
+            unsent.forEach(invalidation -> pending.merge(invalidation.userId(), invalidation, Invalidation::merge));
+            log.warn("Publishing cache invalidations failed, retrying on the next run", e);
+        }
+    }
+
+    private void send(String lines) {
+        String payload = nodeId + ":" + (sequence.get() + 1) + lines;
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        sequence.incrementAndGet();
+    }
+
+    /**
+     * Applies a payload received on the channel. Messages of this node are skipped, its caches
+     * were updated by the write itself.
+     */
+    public void receive(String payload) {
+        String[] lines = payload.split("\n");
+        String[] header = lines[0].split(":");
+        String sender = header[0];
+        long number = Long.parseLong(header[1]);
+        if (sender.equals(nodeId)) {
+            return;
+        }
+
+        Long previous = lastSequences.put(sender, number);
+        if (previous != null && number != previous + 1) {
+            log.warn("Missed cache invalidations from node {} ({} after {}), flushing all caches", sender, number, previous);
+            flushAll();
+            return;
+        }
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (int i = 1; i < lines.length; i++) {
+            Invalidation invalidation = Invalidation.decode(lines[i]);
+            if (invalidation.taskIds() == null) {
+                cache.evictEntityData(Task.class);
+            } else {
+                invalidation.taskIds().forEach(id -> cache.evictEntityData(Task.class, id));
+            }
+            cache.evictEntityData(User.class, invalidation.userId());
+            readCoalescer.userChanged(invalidation.userId());
+        }
+        cache.evictDefaultQueryRegion();
+    }
+
+    // Used when it's unknown what changed, e.g. after the listener lost its connection
+    public void flushAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        readCoalescer.allChanged();
+    }
+
+    private static int bytes(CharSequence text) {
+        return text.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static int countLines(CharSequence lines) {
+        return (int) lines.chars().filter(c -> c == '\n').count();
+    }
+
+    /**
+     * What changed for one user; null task ids mean all of them.
+     */
+    record Invalidation(UUID userId, Set<UUID> taskIds) {
+
+        // Past a few entries "all" is cheaper to send than the list
+        Invalidation {
+            if (taskIds != null && taskIds.size() > MAX_TASK_IDS) {
+                taskIds = null;
+            }
+        }
+
+        Invalidation merge(Invalidation other) {
+            return new Invalidation(userId, union(taskIds, other.taskIds));
+        }
+
+        String encode() {
+            return userId + "/" + join(taskIds);
+        }
+
+        static Invalidation decode(String line) {
+            String[] parts = line.split("/", -1);
+            Set<UUID> taskIds = null;
+            if (!parts[1].equals(ALL)) {
+                taskIds = new HashSet<>();
+                for (String id : split(parts[1])) {
+                    taskIds.add(UUID.fromString(id));
+                }
+            }
+            return new Invalidation(UUID.fromString(parts[0]), taskIds);
+        }
+
+        private static <T> Set<T> union(Set<T> first, Set<T> second) {
+            if (first == null || second == null) {
+                return null;
+            }
+            Set<T> union = new HashSet<>(first);
+            union.addAll(second);
+            return union;
+        }
+
+        private static String join(Set<?> values) {
+            if (values == null) {
+                return ALL;
+            }
+            return String.join(",", values.stream().map(Object::toString).toList());
+        }
+
+        private static List<String> split(String values) {
+            return values.isEmpty() ? List.of() : List.of(values.split(","));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.uxelf.TasksApp.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Receives the NOTIFY messages of ClusterInvalidationBus on a connection of its own, outside the
+ * pool, polled by a single daemon thread.
+ *
+ * When the connection breaks, it is reopened with exponential backoff up to
+ * max-reconnect-delay. Whatever was sent in the meantime is lost, so every reconnect flushes
+ * all caches once LISTEN is active again.
+ */
+@Component
+public class ClusterInvalidationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterInvalidationListener.class);
+    private static final Duration INITIAL_RECONNECT_DELAY = Duration.ofMillis(500);
+
+    private final ClusterInvalidationBus clusterInvalidationBus;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int pollTimeoutMillis;
+    private final Duration maxReconnectDelay;
+    private volatile boolean running;
+    private Thread thread;
+
+    public ClusterInvalidationListener(
+            ClusterInvalidationBus clusterInvalidationBus,
+            @Value("${spring.datasource.url:}") String url,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${tasks.cluster-invalidation.poll-timeout:PT0.5S}") Duration pollTimeout,
+            @Value("${tasks.cluster-invalidation.max-reconnect-delay:PT30S}") Duration maxReconnectDelay
+    ) {
+        this.clusterInvalidationBus = clusterInvalidationBus;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollTimeoutMillis = (int) pollTimeout.toMillis();
+        this.maxReconnectDelay = maxReconnectDelay;
+    }
+
+    @Override
+    public void start() {
+        if (!clusterInvalidationBus.isEnabled()) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "cluster-invalidation-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        Duration delay = INITIAL_RECONNECT_DELAY;
+        boolean connectedBefore = false;
+
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + clusterInvalidationBus.getChannel());
+                }
+                if (connectedBefore) {
+                    log.info("Cache invalidation listener reconnected, flushing all caches");
+                    clusterInvalidationBus.flushAll();
+                }
+                connectedBefore = true;
+                delay = INITIAL_RECONNECT_DELAY;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {}", delay, e);
+                if (!sleep(delay)) {
+                    return;
+                }
+                delay = delay.multipliedBy(2).compareTo(maxReconnectDelay) > 0 ? maxReconnectDelay : delay.multipliedBy(2);
+            }
+        }
+    }
+
+    // A payload that can't be applied is treated like a missed message
+    private void receive(String payload) {
+        try {
+            clusterInvalidationBus.receive(payload);
+        } catch (RuntimeException e) {
+            log.warn("Couldn't apply cache invalidation, flushing all caches", e);
+            clusterInvalidationBus.flushAll();
+        }
+    }
+
+    private boolean sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.IdempotencyRecord;
+import com.uxelf.TasksApp.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * IdempotencyStore on the idempotency_keys table, shared by every node. Enabled with
+ * tasks.idempotency.store=database. Responses are stored as JSON; expired rows are purged in
+ * chunks by a scheduled job.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.idempotency.store", havingValue = "database")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseIdempotencyStore.class);
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int purgeChunkSize;
+
+    public DatabaseIdempotencyStore(
+            IdempotencyRecordRepository idempotencyRecordRepository,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${tasks.idempotency.purge-chunk-size:1000}") int purgeChunkSize
+    ) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    // The row can vanish between the insert and the read when its holder fails or it expires,
+    // the key is then free again and the claim is retried
+    @Override
+    @Transactional
+    public Optional<Entry> reserve(UUID userId, String key, String fingerprint, Class<?> responseType) {
+        while (true) {
+            Instant now = Instant.now();
+            if (idempotencyRecordRepository.reserve(userId, key, fingerprint, now, now.plus(ttl)) == 1) {
+                return Optional.empty();
+            }
+
+            Optional<IdempotencyRecord> existing = idempotencyRecordRepository
+                    .findById(new IdempotencyRecord.Key(userId, key));
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                Object response = record.isCompleted() && record.getResponse() != null
+                        ? jsonMapper.readValue(record.getResponse(), responseType)
+                        : null;
+                return Optional.of(new Entry(record.getFingerprint(), record.isCompleted(), response));
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void complete(UUID userId, String key, Object response) {
+        idempotencyRecordRepository.complete(userId, key, response != null ? jsonMapper.writeValueAsString(response) : null);
+    }
+
+    @Override
+    @Transactional
+    public void release(UUID userId, String key) {
+        idempotencyRecordRepository.release(userId, key);
+    }
+
+    @Scheduled(
+            initialDelayString = "${tasks.idempotency.purge-initial-delay:PT5M}",
+            fixedDelayString = "${tasks.idempotency.purge-interval:PT1H}"
+    )
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    idempotencyRecordRepository.deleteExpired(now, purgeChunkSize));
+            purged += deleted != null ? deleted : 0;
+            if (deleted == null || deleted < purgeChunkSize) {
+                break;
+            }
+        }
+
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.repository.TaskOccurrenceOverrideRepository;
+import com.uxelf.TasksApp.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Removes deleted tasks for good once their restore window (retention) has passed, together
+ * with their occurrence overrides.
+ *
+ * Tombstones go in small batches, oldest first, one short transaction each, so a purge never
+ * holds many row locks or rewrites much of an index at once. Like TaskArchiver it sleeps
+ * between batches to stay under its duty cycle.
+ */
+@Service
+public class DeletedTaskPurger {
+
+    private static final Logger log = LoggerFactory.getLogger(DeletedTaskPurger.class);
+
+    private final TaskRepository taskRepository;
+    private final TaskOccurrenceOverrideRepository occurrenceOverrideRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final double dutyCycle;
+
+    public DeletedTaskPurger(
+            TaskRepository taskRepository,
+            TaskOccurrenceOverrideRepository occurrenceOverrideRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.purge.enabled:true}") boolean enabled,
+            @Value("${tasks.purge.retention:P30D}") Duration retention,
+            @Value("${tasks.purge.batch-size:100}") int batchSize,
+            @Value("${tasks.purge.max-batches-per-run:500}") int maxBatchesPerRun,
+            @Value("${tasks.purge.duty-cycle:0.1}") double dutyCycle
+    ) {
+        this.taskRepository = taskRepository;
+        this.occurrenceOverrideRepository = occurrenceOverrideRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.dutyCycle = dutyCycle;
+    }
+
+    // Tasks deleted at or after this instant can still be restored
+    public Instant restorableSince() {
+        return Instant.now().minus(retention);
+    }
+
+    @Scheduled(
+            initialDelayString = "${tasks.purge.initial-delay:PT5M}",
+            fixedDelayString = "${tasks.purge.interval:PT10M}"
+    )
+    public void purgeDeletedTasks() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant deletedBefore = restorableSince();
+        int purged = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            long startedAt = System.nanoTime();
+
+            List<UUID> ids = transactionTemplate.execute(status -> {
+                List<UUID> removed = taskRepository.purgeDeleted(deletedBefore, batchSize);
+                if (!removed.isEmpty()) {
+                    occurrenceOverrideRepository.deleteByTaskIdIn(removed);
+                }
+                return removed;
+            });
+            int count = ids != null ? ids.size() : 0;
+            purged += count;
+
+            if (count < batchSize || !pause(System.nanoTime() - startedAt)) {
+                break;
+            }
+        }
+
+        if (purged > 0) {
+            log.info("Purged {} tasks deleted before {}", purged, deletedBefore);
+        }
+    }
+
+    private boolean pause(long batchNanos) {
+        long sleepMillis = (long) (batchNanos / 1_000_000 * (1 - dutyCycle) / dutyCycle);
+        try {
+            Thread.sleep(sleepMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.exception.IdempotencyKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.MapperFeature;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Runs a mutation at most once per user and Idempotency-Key. A retry of a completed request
+ * gets the stored response without the mutation running again; a retry while the first
+ * attempt is still running is rejected, as is reusing a key for a different request. Failed
+ * requests don't keep their key, so they can be retried.
+ *
+ * Requests are told apart by a SHA-256 fingerprint of the operation and its arguments, written
+ * as JSON with properties and map entries sorted, so the same request always gets the same
+ * fingerprint whatever the arguments' toString() or field order.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final JsonMapper canonicalMapper;
+
+    public IdempotencyService(IdempotencyStore idempotencyStore, JsonMapper jsonMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.canonicalMapper = jsonMapper.rebuild()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .build();
+    }
+
+    public <T> T execute(UUID userId, String key, String operation, List<?> arguments, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String fingerprint = fingerprint(operation, arguments);
+        Optional<IdempotencyStore.Entry> existing = idempotencyStore.reserve(userId, key, fingerprint, responseType);
+        if (existing.isPresent()) {
+            return replay(existing.get(), fingerprint, responseType);
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            idempotencyStore.release(userId, key);
+            throw e;
+        }
+        idempotencyStore.complete(userId, key, response);
+        return response;
+    }
+
+    private static <T> T replay(IdempotencyStore.Entry entry, String fingerprint, Class<T> responseType) {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_CONTENT,
+                    "Idempotency-Key was already used for a different request");
+        }
+        if (!entry.completed()) {
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+        }
+        return responseType.cast(entry.response());
+    }
+
+    private String fingerprint(String operation, List<?> arguments) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(canonicalMapper.writeValueAsBytes(arguments));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
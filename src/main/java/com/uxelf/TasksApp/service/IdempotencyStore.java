@@ -0,0 +1,25 @@
+package com.uxelf.TasksApp.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Where IdempotencyService keeps the outcome of mutations sent with an Idempotency-Key.
+ * Keys are scoped per user and forgotten after tasks.idempotency.ttl.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claims the key for a request with the given fingerprint. Returns empty when the caller
+     * now holds the key and has to run the request, otherwise what is stored for the key.
+     */
+    Optional<Entry> reserve(UUID userId, String key, String fingerprint, Class<?> responseType);
+
+    void complete(UUID userId, String key, Object response);
+
+    // Forgets a key whose request failed, so the client can retry it
+    void release(UUID userId, String key);
+
+    record Entry(String fingerprint, boolean completed, Object response) {
+    }
+}
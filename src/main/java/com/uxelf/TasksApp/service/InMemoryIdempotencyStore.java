@@ -0,0 +1,52 @@
+package com.uxelf.TasksApp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Default IdempotencyStore, local to this node. Holds at most tasks.idempotency.max-entries
+ * keys; under pressure the least used ones are dropped before their TTL.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<Key, Entry> entries;
+
+    public InMemoryIdempotencyStore(
+            @Value("${tasks.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${tasks.idempotency.max-entries:100000}") long maxEntries
+    ) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Optional<Entry> reserve(UUID userId, String key, String fingerprint, Class<?> responseType) {
+        return Optional.ofNullable(entries.asMap().putIfAbsent(new Key(userId, key), new Entry(fingerprint, false, null)));
+    }
+
+    @Override
+    public void complete(UUID userId, String key, Object response) {
+        entries.asMap().computeIfPresent(new Key(userId, key),
+                (k, entry) -> new Entry(entry.fingerprint(), true, response));
+    }
+
+    @Override
+    public void release(UUID userId, String key) {
+        entries.asMap().computeIfPresent(new Key(userId, key),
+                (k, entry) -> entry.completed() ? entry : null);
+    }
+
+    private record Key(UUID userId, String key) {
+    }
+}
@@ -0,0 +1,172 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.JobCheckpoint;
+import com.uxelf.TasksApp.repository.JobCheckpointRepository;
+import com.uxelf.TasksApp.repository.TaskRepository;
+import com.uxelf.TasksApp.service.reminder.Reminder;
+import com.uxelf.TasksApp.service.reminder.ReminderSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Acts on one-off tasks once their end date has passed without them being completed, off
+ * unless tasks.overdue.enabled is set. tasks.overdue.action picks what happens to each task:
+ * "flag" sets tasks.overdue_since, "notify" sends it to the ReminderSink, "escalate" does both.
+ *
+ * Tasks are walked in (end_time, id) order, one transaction per chunk that also moves the
+ * checkpoint in job_checkpoints, so after a crash the job resumes after the last committed
+ * chunk. Each chunk first takes a transaction-scoped advisory lock: with several nodes, the one
+ * that doesn't get it leaves the run to the other. Without a checkpoint the walk starts
+ * initial-lookback-days back instead of at the oldest task.
+ *
+ * The cursor only moves forward, so a task whose end is moved behind it or that is reopened
+ * after its end isn't processed again.
+ */
+@Service
+public class OverdueTaskProcessor {
+
+    static final String JOB_NAME = "overdue-tasks";
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueTaskProcessor.class);
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final TaskRepository taskRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final ReminderSink reminderSink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Action action;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final int initialLookbackDays;
+
+    public OverdueTaskProcessor(
+            TaskRepository taskRepository,
+            JobCheckpointRepository jobCheckpointRepository,
+            ReminderSink reminderSink,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.overdue.enabled:false}") boolean enabled,
+            @Value("${tasks.overdue.action:flag}") String action,
+            @Value("${tasks.overdue.chunk-size:500}") int chunkSize,
+            @Value("${tasks.overdue.max-chunks-per-run:200}") int maxChunksPerRun,
+            @Value("${tasks.overdue.initial-lookback-days:7}") int initialLookbackDays
+    ) {
+        this.taskRepository = taskRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.reminderSink = reminderSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.action = Action.valueOf(action.trim().toUpperCase(Locale.ROOT));
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.initialLookbackDays = initialLookbackDays;
+    }
+
+    @Scheduled(
+            initialDelayString = "${tasks.overdue.initial-delay:PT2M}",
+            fixedDelayString = "${tasks.overdue.interval:PT15M}"
+    )
+    public void processOverdueTasks() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        int processed = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            Integer tasks = transactionTemplate.execute(status -> processChunk(today));
+            if (tasks == null) {
+                log.debug("Overdue task processing is running on another node");
+                break;
+            }
+            processed += tasks;
+            if (tasks < chunkSize) {
+                break;
+            }
+        }
+
+        int cleared = action.flags ? clearResolved(today) : 0;
+
+        if (processed > 0 || cleared > 0) {
+            log.info("Processed {} overdue tasks ({}), cleared the flag of {} no longer overdue", processed, action, cleared);
+        }
+    }
+
+    // Null when another node holds the lock
+    private Integer processChunk(LocalDate today) {
+        if (!jobCheckpointRepository.tryLock(JOB_NAME)) {
+            return null;
+        }
+
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME, today.minusDays(initialLookbackDays), MIN_UUID));
+        List<Object[]> rows = taskRepository.findOverdueAfter(
+                today, checkpoint.getAfterEnd(), checkpoint.getAfterId(), PageRequest.ofSize(chunkSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        if (action.flags) {
+            Set<UUID> ids = new HashSet<>(rows.size());
+            Set<UUID> authorIds = new HashSet<>();
+            for (Object[] row : rows) {
+                ids.add((UUID) row[0]);
+                authorIds.add((UUID) row[1]);
+            }
+            taskRepository.flagOverdue(ids, authorIds);
+        }
+        // A failed delivery rolls the chunk back, so it's retried on the next run
+        if (action.notifies) {
+            Instant now = Instant.now();
+            for (Object[] row : rows) {
+                reminderSink.deliver(new Reminder((UUID) row[0], (UUID) row[1], (String) row[2], (LocalDate) row[3], now));
+            }
+        }
+
+        Object[] last = rows.get(rows.size() - 1);
+        checkpoint.advance((LocalDate) last[3], (UUID) last[0]);
+        jobCheckpointRepository.save(checkpoint);
+        return rows.size();
+    }
+
+    private int clearResolved(LocalDate today) {
+        int cleared = 0;
+        while (true) {
+            List<UUID> ids = transactionTemplate.execute(status -> taskRepository.clearResolvedOverdue(today, chunkSize));
+            int count = ids != null ? ids.size() : 0;
+            cleared += count;
+            if (count < chunkSize) {
+                return cleared;
+            }
+        }
+    }
+
+    enum Action {
+        FLAG(true, false),
+        NOTIFY(false, true),
+        ESCALATE(true, true);
+
+        private final boolean flags;
+        private final boolean notifies;
+
+        Action(boolean flags, boolean notifies) {
+            this.flags = flags;
+            this.notifies = notifies;
+        }
+    }
+}
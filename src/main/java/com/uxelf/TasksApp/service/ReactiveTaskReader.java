@@ -0,0 +1,198 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.dto.tasks.TaskResponse;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.exception.BusinessException;
+import com.uxelf.TasksApp.service.recurrence.RecurrenceExpander;
+import io.r2dbc.spi.Readable;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the TaskService reads behind GET /tasks, /tasks/day, /tasks/month
+ * and /tasks/{id}, used when the application runs on WebFlux. It runs the same queries over
+ * R2DBC and builds the same responses; the second-level cache and the read coalescer only exist
+ * on the JPA side, so every read goes to Postgres.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class ReactiveTaskReader {
+
+    private static final String TASK_COLUMNS = "id, title, description, status, start_time, end_time, recurrence";
+
+    private final DatabaseClient databaseClient;
+    private final RecurrenceExpander recurrenceExpander;
+    private final TaskStatusWriteBehind taskStatusWriteBehind;
+
+    public Mono<List<TaskResponse>> getTasksByUser(UUID userId){
+        return flushBuffered(userId).then(databaseClient
+                .sql("SELECT " + TASK_COLUMNS + " FROM tasks WHERE author_id = :userId AND deleted_at IS NULL")
+                .bind("userId", userId)
+                .map(TaskRow::of)
+                .all()
+                .map(this::toResponse)
+                .collectList());
+    }
+
+    // Scoped by author first so a partitioned tasks table only probes one partition, like
+    // TaskService.getTaskById; archived tasks are looked up when the task isn't live
+    public Mono<TaskResponse> getTaskById(UUID taskId, UUID userId){
+        Mono<TaskResponse> live = databaseClient
+                .sql("SELECT " + TASK_COLUMNS + " FROM tasks WHERE id = :id AND author_id = :userId AND deleted_at IS NULL")
+                .bind("id", taskId)
+                .bind("userId", userId)
+                .map(TaskRow::of)
+                .one()
+                .map(this::toResponse);
+
+        Mono<TaskResponse> othersOrArchived = databaseClient
+                .sql("SELECT author_id FROM tasks WHERE id = :id AND deleted_at IS NULL")
+                .bind("id", taskId)
+                .map(row -> row.get("author_id", UUID.class))
+                .one()
+                .flatMap(authorId -> Mono.<TaskResponse>error(new BusinessException("You don't have permission to see this task")))
+                .switchIfEmpty(databaseClient
+                        .sql("SELECT id, title, description, status, start_time, end_time, NULL AS recurrence"
+                                + " FROM tasks_archive WHERE id = :id AND author_id = :userId")
+                        .bind("id", taskId)
+                        .bind("userId", userId)
+                        .map(TaskRow::of)
+                        .one()
+                        .map(row -> row.toResponse(false, null)));
+
+        return flushBuffered(userId).then(live.switchIfEmpty(othersOrArchived))
+                .switchIfEmpty(Mono.error(() -> new BusinessException("Task not found")));
+    }
+
+    public Mono<List<TaskResponse>> getTasksForDay(UUID userId, LocalDate date){
+        return getTasksOverlapping(userId, date, date);
+    }
+
+    public Mono<List<TaskResponse>> getTasksForMonth(UUID userId, YearMonth month){
+        return getTasksOverlapping(userId, month.atDay(1), month.atEndOfMonth());
+    }
+
+    private Mono<List<TaskResponse>> getTasksOverlapping(UUID userId, LocalDate from, LocalDate to){
+        Mono<List<TaskResponse>> oneOffs = databaseClient
+                .sql("SELECT " + TASK_COLUMNS + " FROM tasks"
+                        + " WHERE author_id = :userId AND recurrence IS NULL AND deleted_at IS NULL"
+                        + " AND start_time <= :to AND end_time >= :from")
+                .bind("userId", userId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(TaskRow::of)
+                .all()
+                .map(this::toResponse)
+                .collectList();
+
+        return flushBuffered(userId).then(Mono.zip(oneOffs, expandRecurringTasks(userId, from, to), (tasks, occurrences) -> {
+            List<TaskResponse> responses = new ArrayList<>(tasks.size() + occurrences.size());
+            responses.addAll(tasks);
+            responses.addAll(occurrences);
+            return responses;
+        }));
+    }
+
+    private Mono<List<TaskResponse>> expandRecurringTasks(UUID userId, LocalDate from, LocalDate to){
+        return databaseClient
+                .sql("SELECT " + TASK_COLUMNS + " FROM tasks"
+                        + " WHERE author_id = :userId AND recurrence IS NOT NULL AND deleted_at IS NULL AND start_time <= :to"
+                        + " AND (recurrence_end IS NULL OR recurrence_end >= :from)")
+                .bind("userId", userId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(TaskRow::of)
+                .all()
+                .collectList()
+                .flatMap(series -> series.isEmpty() ? Mono.just(List.of()) : expandSeries(series, from, to));
+    }
+
+    private Mono<List<TaskResponse>> expandSeries(List<TaskRow> series, LocalDate from, LocalDate to){
+        long longestDuration = series.stream()
+                .mapToLong(task -> recurrenceExpander.duration(task.start(), task.end()))
+                .max()
+                .orElse(0);
+
+        return databaseClient
+                .sql("SELECT task_id, occurrence_date, status FROM task_occurrence_overrides"
+                        + " WHERE task_id = ANY(:ids) AND occurrence_date BETWEEN :from AND :to")
+                .bind("ids", series.stream().map(TaskRow::id).toArray(UUID[]::new))
+                .bind("from", from.minusDays(longestDuration))
+                .bind("to", to)
+                .map(row -> new Object[]{
+                        row.get("task_id", UUID.class),
+                        row.get("occurrence_date", LocalDate.class),
+                        TaskStatus.valueOf(row.get("status", String.class))
+                })
+                .all()
+                .collect(HashMap<UUID, Map<LocalDate, TaskStatus>>::new, (overrides, override) ->
+                        overrides.computeIfAbsent((UUID) override[0], id -> new HashMap<>())
+                                .put((LocalDate) override[1], (TaskStatus) override[2]))
+                .map(overrides -> {
+                    List<TaskResponse> responses = new ArrayList<>();
+                    for (TaskRow task : series){
+                        Map<LocalDate, TaskStatus> taskOverrides = overrides.getOrDefault(task.id(), Map.of());
+                        long duration = recurrenceExpander.duration(task.start(), task.end());
+                        for (LocalDate occurrence : recurrenceExpander.occurrenceStarts(
+                                task.recurrence(), task.start(), task.end(), from, to)){
+                            TaskStatus status = taskOverrides.getOrDefault(occurrence, task.status());
+                            responses.add(task.occurrenceResponse(occurrence, occurrence.plusDays(duration), status));
+                        }
+                    }
+                    return responses;
+                });
+    }
+
+    // Buffered status changes are written with JDBC, off the event loop, before the user reads
+    private Mono<Void> flushBuffered(UUID userId){
+        if (!taskStatusWriteBehind.isEnabled()){
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> taskStatusWriteBehind.flush(userId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private TaskResponse toResponse(TaskRow task){
+        return task.toResponse(task.status() != TaskStatus.COMPLETED && task.end().isBefore(LocalDate.now()), null);
+    }
+
+    private record TaskRow(UUID id, String title, String description, TaskStatus status,
+                           LocalDate start, LocalDate end, String recurrence) {
+
+        static TaskRow of(Readable row){
+            return new TaskRow(
+                    row.get("id", UUID.class),
+                    row.get("title", String.class),
+                    row.get("description", String.class),
+                    TaskStatus.valueOf(row.get("status", String.class)),
+                    row.get("start_time", LocalDate.class),
+                    row.get("end_time", LocalDate.class),
+                    row.get("recurrence", String.class)
+            );
+        }
+
+        TaskResponse toResponse(boolean expired, LocalDate occurrence){
+            return new TaskResponse(id, title, description, status, start, end, expired, recurrence, occurrence);
+        }
+
+        TaskResponse occurrenceResponse(LocalDate occurrence, LocalDate occurrenceEnd, TaskStatus occurrenceStatus){
+            return new TaskResponse(id, title, description, occurrenceStatus, occurrence, occurrenceEnd,
+                    occurrenceStatus != TaskStatus.COMPLETED && occurrenceEnd.isBefore(LocalDate.now()),
+                    recurrence, occurrence);
+        }
+    }
+}
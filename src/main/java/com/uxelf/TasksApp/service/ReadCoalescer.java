@@ -0,0 +1,116 @@
+package com.uxelf.TasksApp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for reads: concurrent calls with the same user, operation and arguments share
+ * one execution of the loader, and every caller gets its result (or its exception).
+ *
+ * Calls only join a flight that started after the user's last write. Writes bump a version
+ * kept in a fixed array of stripes, so the bookkeeping stays bounded; a write only makes the
+ * other users of its stripe start a fresh flight once.
+ *
+ * Metrics: tasks.reads{operation, outcome=executed|coalesced}
+ */
+@Component
+public class ReadCoalescer {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final ConcurrentMap<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final ConcurrentMap<String, Counter> executed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> coalesced = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public ReadCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(UUID userId, String operation, List<?> arguments, Supplier<T> loader) {
+        FlightKey key = new FlightKey(userId, versions.get(stripe(userId)), operation, arguments);
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            counter(coalesced, operation, "coalesced").increment();
+            return (T) join(existing);
+        }
+
+        counter(executed, operation, "executed").increment();
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    // Inside a transaction the version moves on commit, so a read that starts before the commit
+    // can't hand its pre-commit result to a read that starts after it
+    public void userChanged(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.incrementAndGet(stripe(userId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                versions.incrementAndGet(stripe(userId));
+            }
+        });
+    }
+
+    // Every user at once, for when it's unknown whose data changed
+    public void allChanged() {
+        for (int stripe = 0; stripe < VERSION_STRIPES; stripe++) {
+            versions.incrementAndGet(stripe);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(ConcurrentMap<String, Counter> counters, String operation, String outcome) {
+        return counters.computeIfAbsent(operation, name -> Counter.builder("tasks.reads")
+                .tag("operation", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+
+    private static int stripe(UUID userId) {
+        return (userId.hashCode() & Integer.MAX_VALUE) % VERSION_STRIPES;
+    }
+
+    private record FlightKey(UUID userId, long version, String operation, List<?> arguments) {
+    }
+}
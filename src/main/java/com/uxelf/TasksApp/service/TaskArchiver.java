@@ -0,0 +1,126 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.repository.ArchivedTaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Moves completed tasks that ended more than the retention period ago from tasks to
+ * tasks_archive, so the live table and its indexes only hold what calendar views read.
+ *
+ * Tasks are walked in (end_time, id) order, one short transaction per chunk. After each chunk
+ * the archiver sleeps long enough to stay under its duty cycle, so it backs off by itself when
+ * the database is busy and chunks get slower.
+ */
+@Service
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+    private static final LocalDate MIN_END = LocalDate.of(1, 1, 1);
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ClusterInvalidationBus clusterInvalidationBus;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final double dutyCycle;
+
+    public TaskArchiver(
+            ArchivedTaskRepository archivedTaskRepository,
+            ClusterInvalidationBus clusterInvalidationBus,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.archive.enabled:true}") boolean enabled,
+            @Value("${tasks.archive.retention-days:180}") int retentionDays,
+            @Value("${tasks.archive.chunk-size:500}") int chunkSize,
+            @Value("${tasks.archive.max-chunks-per-run:200}") int maxChunksPerRun,
+            @Value("${tasks.archive.duty-cycle:0.1}") double dutyCycle
+    ) {
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.clusterInvalidationBus = clusterInvalidationBus;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.dutyCycle = dutyCycle;
+    }
+
+    @Scheduled(
+            initialDelayString = "${tasks.archive.initial-delay:PT10M}",
+            fixedDelayString = "${tasks.archive.interval:PT1H}"
+    )
+    public void archiveCompletedTasks() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        LocalDate afterEnd = MIN_END;
+        UUID afterId = MIN_UUID;
+        int archived = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            long startedAt = System.nanoTime();
+
+            List<Object[]> keys = archivedTaskRepository.findArchivableKeys(
+                    cutoff, afterEnd, afterId, PageRequest.ofSize(chunkSize));
+            if (keys.isEmpty()) {
+                break;
+            }
+
+            Set<UUID> ids = new HashSet<>(keys.size());
+            Map<UUID, List<UUID>> idsByAuthor = new HashMap<>();
+            for (Object[] key : keys) {
+                ids.add((UUID) key[0]);
+                idsByAuthor.computeIfAbsent((UUID) key[1], author -> new ArrayList<>()).add((UUID) key[0]);
+            }
+            Object[] last = keys.get(keys.size() - 1);
+            afterId = (UUID) last[0];
+            afterEnd = (LocalDate) last[2];
+
+            Integer moved = transactionTemplate.execute(status -> {
+                int count = archivedTaskRepository.moveToArchive(ids, idsByAuthor.keySet());
+                idsByAuthor.forEach(clusterInvalidationBus::tasksChanged);
+                return count;
+            });
+            archived += moved != null ? moved : 0;
+
+            if (keys.size() < chunkSize || !pause(System.nanoTime() - startedAt)) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} completed tasks that ended before {}", archived, cutoff);
+        }
+    }
+
+    private boolean pause(long chunkNanos) {
+        long sleepMillis = (long) (chunkNanos / 1_000_000 * (1 - dutyCycle) / dutyCycle);
+        try {
+            Thread.sleep(sleepMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
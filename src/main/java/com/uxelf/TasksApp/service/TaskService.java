@@ -1,21 +1,53 @@
 package com.uxelf.TasksApp.service;
 
+import com.uxelf.TasksApp.dto.tasks.BatchTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusRequest;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusResponse;
 import com.uxelf.TasksApp.dto.tasks.CreateTaskRequest;
+import com.uxelf.TasksApp.dto.tasks.DayTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskDensityResponse;
 import com.uxelf.TasksApp.dto.tasks.TaskResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskStatsResponse;
+import com.uxelf.TasksApp.dto.tasks.UpdateOccurrenceRequest;
 import com.uxelf.TasksApp.dto.tasks.UpdateTaskRequest;
+import com.uxelf.TasksApp.entity.ArchivedTask;
 import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.TaskOccurrenceOverride;
 import com.uxelf.TasksApp.entity.User;
 import com.uxelf.TasksApp.entity.enums.TaskStatus;
 import com.uxelf.TasksApp.exception.BusinessException;
+import com.uxelf.TasksApp.monitoring.RequestPhase;
+import com.uxelf.TasksApp.monitoring.RequestPhases;
+import com.uxelf.TasksApp.repository.ArchivedTaskRepository;
+import com.uxelf.TasksApp.repository.TaskOccurrenceOverrideRepository;
 import com.uxelf.TasksApp.repository.TaskRepository;
 import com.uxelf.TasksApp.repository.UserRepository;
+import com.uxelf.TasksApp.service.TaskStatsService.TaskSnapshot;
+import com.uxelf.TasksApp.service.history.TaskHistoryEntry;
+import com.uxelf.TasksApp.service.history.TaskHistoryRecorder;
+import com.uxelf.TasksApp.service.recurrence.RecurrenceExpander;
+import com.uxelf.TasksApp.service.recurrence.RecurrenceRule;
+import com.uxelf.TasksApp.service.reminder.ReminderScheduler;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -24,10 +56,26 @@ public class TaskService {
     private static final int MAX_TITLE_LENGTH = 255;
     private static final int MAX_DESCRIPTION_LENGTH = 5000;
     private static final int MAX_YEARS_IN_FUTURE = 10;
+    private static final int MAX_ARCHIVE_PAGE_SIZE = 100;
+    private static final int MAX_DENSITY_DAYS = 366;
+    private static final int MAX_RANGE_DAYS = 42;
+    private static final int MAX_BATCH_IDS = 500;
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-
+    private final TaskOccurrenceOverrideRepository occurrenceOverrideRepository;
+    private final RecurrenceExpander recurrenceExpander;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final ReadCoalescer readCoalescer;
+    private final TaskStatsService taskStatsService;
+    private final TaskStatusBulkUpdater taskStatusBulkUpdater;
+    private final TaskStatusWriteBehind taskStatusWriteBehind;
+    private final ClusterInvalidationBus clusterInvalidationBus;
+    private final ReminderScheduler reminderScheduler;
+    private final TaskHistoryRecorder taskHistoryRecorder;
+    private final DeletedTaskPurger deletedTaskPurger;
+
+    @Transactional
     public TaskResponse createTask(CreateTaskRequest request, UUID userId){
         validateTitle(request.getTitle());
         validateDescription(request.getDescription());
@@ -43,55 +91,217 @@ public class TaskService {
                 request.getEnd(),
                 user
         );
+        applyRecurrence(task, request.getRecurrence());
 
         Task saved = taskRepository.save(task);
+        taskStatsService.recordChange(userId, null, TaskSnapshot.of(saved));
+        readCoalescer.userChanged(userId);
+        publishChange(saved);
+        reminderScheduler.taskChanged(saved);
+        taskHistoryRecorder.record(TaskHistoryEntry.created(saved));
 
         return mapToResponse(saved);
     }
 
     public TaskResponse getTaskById(UUID taskId, UUID userId){
-        Task task = taskRepository.findById(taskId)
+        taskStatusWriteBehind.flush(userId);
+        return readCoalescer.execute(userId, "getTaskById", List.of(taskId), () -> loadTaskById(taskId, userId));
+    }
+
+    private TaskResponse loadTaskById(UUID taskId, UUID userId){
+        return findOwnedTaskIfPresent(taskId, userId, "You don't have permission to see this task")
+                .map(this::mapToResponse)
+                .or(() -> archivedTaskRepository.findByIdAndAuthorId(taskId, userId).map(this::mapArchivedToResponse))
                 .orElseThrow(() -> new BusinessException("Task not found"));
+    }
 
-        if (!task.getAuthor().getId().equals(userId)){
-            throw new BusinessException("You don't have permission to see this task");
+    public BatchTasksResponse getTasksByIds(List<UUID> ids, UUID userId){
+        if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_IDS){
+            throw new IllegalArgumentException("Between 1 and " + MAX_BATCH_IDS + " ids must be requested");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)){
+            throw new IllegalArgumentException("Ids cannot be null");
         }
 
-        return mapToResponse(task);
+        taskStatusWriteBehind.flush(userId);
+
+        List<UUID> uniqueIds = List.copyOf(new LinkedHashSet<>(ids));
+        return readCoalescer.execute(userId, "getTasksByIds", uniqueIds, () -> loadTasksByIds(uniqueIds, userId));
+    }
+
+    // Scoped by author in the query itself, so someone else's ids simply aren't found; archived
+    // tasks are only looked up for the ids that aren't live, like getTaskById does
+    private BatchTasksResponse loadTasksByIds(List<UUID> ids, UUID userId){
+        Map<UUID, TaskResponse> found = new HashMap<>();
+        for (Task task : taskRepository.findByAuthorIdAndIdIn(userId, ids)){
+            found.put(task.getId(), mapToResponse(task));
+        }
+        if (found.size() < ids.size()){
+            List<UUID> notLive = ids.stream().filter(id -> !found.containsKey(id)).toList();
+            for (ArchivedTask task : archivedTaskRepository.findByAuthorIdAndIdIn(userId, notLive)){
+                found.put(task.getId(), mapArchivedToResponse(task));
+            }
+        }
+
+        List<TaskResponse> tasks = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids){
+            TaskResponse task = found.get(id);
+            if (task != null){
+                tasks.add(task);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchTasksResponse(List.copyOf(tasks), List.copyOf(missing));
+    }
+
+    public List<TaskResponse> getArchivedTasks(UUID userId, int page, int size){
+        if (page < 0 || size < 1 || size > MAX_ARCHIVE_PAGE_SIZE){
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_ARCHIVE_PAGE_SIZE);
+        }
+
+        taskStatusWriteBehind.flush(userId);
+
+        return readCoalescer.execute(userId, "getArchivedTasks", List.of(page, size), () ->
+                archivedTaskRepository.findByAuthorIdOrderByEndDescIdDesc(userId, PageRequest.of(page, size))
+                        .stream()
+                        .map(this::mapArchivedToResponse)
+                        .toList());
+    }
+
+    public TaskStatsResponse getStats(UUID userId){
+        taskStatusWriteBehind.flush(userId);
+        return taskStatsService.getStats(userId);
     }
 
     public List<TaskResponse> getTasksByUser(UUID userId){
-        return taskRepository.findByAuthorId(userId)
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        taskStatusWriteBehind.flush(userId);
+        return readCoalescer.execute(userId, "getTasksByUser", List.of(), () ->
+                taskRepository.findByAuthorId(userId)
+                        .stream()
+                        .map(this::mapToResponse)
+                        .toList());
     }
 
     public List<TaskResponse> getTaskForDay(UUID userId, LocalDate date){
-        List<Task> tasks = taskRepository.findTasksOverlappingDay(userId, date);
-        return tasks.stream()
-                .map(this::mapToResponse)
-                .toList();
+        taskStatusWriteBehind.flush(userId);
+        return readCoalescer.execute(userId, "getTaskForDay", List.of(date), () -> loadTasksForDay(userId, date));
     }
 
     public List<TaskResponse> getTaskForMonth(UUID userId, YearMonth date){
+        taskStatusWriteBehind.flush(userId);
+        return readCoalescer.execute(userId, "getTaskForMonth", List.of(date), () -> loadTasksForMonth(userId, date));
+    }
+
+    private List<TaskResponse> loadTasksForDay(UUID userId, LocalDate date){
+        List<Task> tasks = taskRepository.findTasksOverlappingDay(userId, date);
+        return Stream.concat(
+                tasks.stream().map(this::mapToResponse),
+                expandRecurringTasks(userId, date, date).stream()
+        ).toList();
+    }
+
+    private List<TaskResponse> loadTasksForMonth(UUID userId, YearMonth date){
         LocalDate monthStart = date.atDay(1);
         LocalDate monthEnd = date.atEndOfMonth();
 
         List<Task> tasks = taskRepository.findTasksOverlappingMonth(userId, monthStart, monthEnd);
-        return tasks.stream()
-                .map(this::mapToResponse)
-                .toList();
+        return Stream.concat(
+                tasks.stream().map(this::mapToResponse),
+                expandRecurringTasks(userId, monthStart, monthEnd).stream()
+        ).toList();
     }
 
-    public TaskResponse updateTask(UUID taskId, UpdateTaskRequest request, UUID userId){
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new BusinessException("Task not found"));
+    public List<DayTasksResponse> getTasksForRange(UUID userId, LocalDate from, LocalDate to){
+        validateRange(from, to, MAX_RANGE_DAYS);
+        taskStatusWriteBehind.flush(userId);
+        return readCoalescer.execute(userId, "getTasksForRange", List.of(from, to), () -> loadTasksForRange(userId, from, to));
+    }
+
+    // One query for tasks and series; every task or occurrence is then appended to the days it
+    // covers, so the work is proportional to the days plus the entries returned
+    private List<DayTasksResponse> loadTasksForRange(UUID userId, LocalDate from, LocalDate to){
+        List<TaskResponse> responses = new ArrayList<>();
+        List<Task> series = new ArrayList<>();
+        for (Task task : taskRepository.findTasksAndSeriesOverlapping(userId, from, to)){
+            if (task.getRecurrence() == null){
+                responses.add(mapToResponse(task));
+            } else {
+                series.add(task);
+            }
+        }
+        responses.addAll(expandSeries(series, from, to));
+        responses.sort(Comparator.comparing(TaskResponse::getStart).thenComparing(TaskResponse::getEnd));
+
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        List<List<TaskResponse>> buckets = new ArrayList<>(days);
+        for (int day = 0; day < days; day++){
+            buckets.add(new ArrayList<>());
+        }
+        for (TaskResponse response : responses){
+            LocalDate first = response.getStart().isBefore(from) ? from : response.getStart();
+            LocalDate last = response.getEnd().isAfter(to) ? to : response.getEnd();
+            for (int day = (int) ChronoUnit.DAYS.between(from, first); day <= ChronoUnit.DAYS.between(from, last); day++){
+                buckets.get(day).add(response);
+            }
+        }
 
-        if (!task.getAuthor().getId().equals(userId)){
-            throw new BusinessException("You don't have permission to modify this task");
+        List<DayTasksResponse> result = new ArrayList<>(days);
+        for (int day = 0; day < days; day++){
+            result.add(new DayTasksResponse(from.plusDays(day), List.copyOf(buckets.get(day))));
+        }
+        return List.copyOf(result);
+    }
+
+    @Transactional
+    public TaskDensityResponse getTaskDensity(UUID userId, LocalDate from, LocalDate to){
+        validateRange(from, to, MAX_DENSITY_DAYS);
+        return readCoalescer.execute(userId, "getTaskDensity", List.of(from, to), () -> loadTaskDensity(userId, from, to));
+    }
+
+    // Sweep line: +1 on the first day of every span in the window and -1 after its last day,
+    // then a running sum; the cost depends on the number of tasks, not on how long they last
+    private TaskDensityResponse loadTaskDensity(UUID userId, LocalDate from, LocalDate to){
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        int[] deltas = new int[days + 1];
+
+        for (Object[] span : taskRepository.findSpansOverlapping(userId, from, to)){
+            addSpan(deltas, from, to, (LocalDate) span[0], (LocalDate) span[1]);
+        }
+        for (Task series : taskRepository.findRecurringTasksOverlapping(userId, from, to)){
+            long duration = recurrenceExpander.duration(series);
+            for (LocalDate occurrence : recurrenceExpander.occurrenceStarts(series, from, to)){
+                addSpan(deltas, from, to, occurrence, occurrence.plusDays(duration));
+            }
         }
 
+        int[] counts = new int[days];
+        int active = 0;
+        for (int day = 0; day < days; day++){
+            active += deltas[day];
+            counts[day] = active;
+        }
+        return new TaskDensityResponse(from, to, counts);
+    }
+
+    @Transactional
+    public TaskResponse updateTask(UUID taskId, UpdateTaskRequest request, UUID userId){
+        if (isStatusOnly(request) && taskStatusWriteBehind.isEnabled()){
+            Task task = findOwnedTask(taskId, userId, "You don't have permission to modify this task");
+            // The history entry is recorded by the flush, with the status it replaced
+            taskStatusWriteBehind.submit(taskId, userId, request.getStatus());
+            readCoalescer.userChanged(userId);
+            return mapToResponse(task, request.getStatus());
+        }
+        // Flushed before loading, a change written after it would be overwritten by this save
+        taskStatusWriteBehind.flush(userId);
+
+        Task task = findOwnedTask(taskId, userId, "You don't have permission to modify this task");
+        TaskSnapshot before = TaskSnapshot.of(task);
+        Map<String, String> fieldsBefore = TaskHistoryEntry.fields(task);
+        publishChange(task);
+
         if (request.getTitle() != null){
             validateTitle(request.getTitle());
             task.setTitle(request.getTitle().trim());
@@ -118,19 +328,201 @@ public class TaskService {
             throw new BusinessException("End date must be after start date");
         }
 
+        if (request.getRecurrence() != null){
+            applyRecurrence(task, request.getRecurrence().isBlank() ? null : request.getRecurrence());
+        } else if (task.getRecurrence() != null){
+            applyRecurrence(task, task.getRecurrence());
+        }
+
         Task updated = taskRepository.save(task);
+        taskStatsService.recordChange(userId, before, TaskSnapshot.of(updated));
+        readCoalescer.userChanged(userId);
+        publishChange(updated);
+        reminderScheduler.taskChanged(updated);
+        taskHistoryRecorder.record(TaskHistoryEntry.updated(updated, fieldsBefore));
         return mapToResponse(updated);
     }
 
+    // Soft delete: the row stays as a tombstone, with its overrides, until DeletedTaskPurger
+    // removes it after the restore window
+    @Transactional
     public void deleteTask(UUID taskId, UUID userId){
-        Task task = taskRepository.findById(taskId)
+        taskStatusWriteBehind.flush(userId);
+        Task task = findOwnedTask(taskId, userId, "You don't have permission to modify this task");
+
+        taskRepository.delete(task);
+        taskStatsService.recordChange(userId, TaskSnapshot.of(task), null);
+        readCoalescer.userChanged(userId);
+        publishChange(task);
+        reminderScheduler.taskDeleted(task.getId());
+        taskHistoryRecorder.record(TaskHistoryEntry.deleted(task));
+    }
+
+    @Transactional
+    public TaskResponse restoreTask(UUID taskId, UUID userId){
+        if (taskRepository.restore(taskId, userId, deletedTaskPurger.restorableSince()) == 0){
+            throw new BusinessException("Task not found or no longer restorable");
+        }
+        Task task = findOwnedTask(taskId, userId, "You don't have permission to modify this task");
+
+        taskStatsService.recordChange(userId, null, TaskSnapshot.of(task));
+        readCoalescer.userChanged(userId);
+        publishChange(task);
+        reminderScheduler.taskChanged(task);
+        taskHistoryRecorder.record(TaskHistoryEntry.restored(task));
+        return mapToResponse(task);
+    }
+
+    public BulkStatusResponse updateStatuses(BulkStatusRequest request, UUID userId){
+        boolean hasIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (!hasIds && request.getFrom() == null && request.getTo() == null
+                && request.getCurrentStatus() == null && !request.isOverdue()){
+            throw new IllegalArgumentException("At least one filter is required");
+        }
+        if (request.getIds() != null && request.getIds().size() > MAX_BATCH_IDS){
+            throw new IllegalArgumentException("Cannot select more than " + MAX_BATCH_IDS + " tasks by id");
+        }
+        if (request.getFrom() != null && request.getTo() != null && request.getTo().isBefore(request.getFrom())){
+            throw new IllegalArgumentException("To date must not be before from date");
+        }
+
+        taskStatusWriteBehind.flush(userId);
+
+        Set<TaskStatus> currentStatuses = request.getCurrentStatus() != null
+                ? EnumSet.of(request.getCurrentStatus())
+                : EnumSet.allOf(TaskStatus.class);
+        LocalDate endBefore = null;
+        if (request.isOverdue()){
+            currentStatuses.remove(TaskStatus.COMPLETED);
+            endBefore = LocalDate.now();
+        }
+
+        List<UUID> updated = taskStatusBulkUpdater.updateStatuses(userId, request.getNewStatus(),
+                new TaskStatusBulkUpdater.Filter(request.getIds(), request.getFrom(), request.getTo(), currentStatuses, endBefore));
+        return new BulkStatusResponse(updated.size());
+    }
+
+    @Transactional
+    public TaskResponse updateOccurrence(UUID taskId, LocalDate occurrence, UpdateOccurrenceRequest request, UUID userId){
+        taskStatusWriteBehind.flush(userId);
+        Task task = findOwnedTask(taskId, userId, "You don't have permission to modify this task");
+
+        if (task.getRecurrence() == null){
+            throw new BusinessException("Task is not recurring");
+        }
+
+        if (!recurrenceExpander.occurrenceStarts(task, occurrence, occurrence).contains(occurrence)){
+            throw new BusinessException("Task has no occurrence starting on " + occurrence);
+        }
+
+        TaskOccurrenceOverride override = occurrenceOverrideRepository
+                .findByTaskIdAndOccurrenceDate(taskId, occurrence)
+                .orElseGet(() -> new TaskOccurrenceOverride(taskId, occurrence, task.getStatus()));
+        TaskStatus from = override.getStatus();
+        override.setStatus(request.getStatus());
+        occurrenceOverrideRepository.save(override);
+        // The counters take a series by its own status, so an override leaves them unchanged
+        taskStatsService.recordChange(userId, TaskSnapshot.of(task), TaskSnapshot.of(task));
+        readCoalescer.userChanged(userId);
+        publishChange(task);
+        reminderScheduler.taskChanged(task);
+        taskHistoryRecorder.record(TaskHistoryEntry.occurrenceChanged(task, occurrence, from, request.getStatus()));
+
+        return mapOccurrenceToResponse(task, occurrence, request.getStatus());
+    }
+
+    private void publishChange(Task task){
+        clusterInvalidationBus.taskChanged(task.getAuthor().getId(), task.getId());
+    }
+
+    private static boolean isStatusOnly(UpdateTaskRequest request){
+        return request.getStatus() != null
+                && request.getTitle() == null
+                && request.getDescription() == null
+                && request.getStart() == null
+                && request.getEnd() == null
+                && request.getRecurrence() == null;
+    }
+
+    // Looks the task up with its author so a partitioned tasks table only probes one partition;
+    // the id-only lookup is just there to tell "not found" and "not yours" apart.
+    private Task findOwnedTask(UUID taskId, UUID userId, String forbiddenMessage){
+        return findOwnedTaskIfPresent(taskId, userId, forbiddenMessage)
                 .orElseThrow(() -> new BusinessException("Task not found"));
+    }
+
+    private Optional<Task> findOwnedTaskIfPresent(UUID taskId, UUID userId, String forbiddenMessage){
+        return taskRepository.findByIdAndAuthorId(taskId, userId)
+                .or(() -> taskRepository.findById(taskId).map(task -> {
+                    if (!task.getAuthor().getId().equals(userId)){
+                        throw new BusinessException(forbiddenMessage);
+                    }
+                    return task;
+                }));
+    }
 
-        if (!task.getAuthor().getId().equals(userId)){
-            throw new BusinessException("You don't have permission to modify this task");
+    // Only the series rows are stored; occurrences are generated for the requested window
+    private List<TaskResponse> expandRecurringTasks(UUID userId, LocalDate from, LocalDate to){
+        return expandSeries(taskRepository.findRecurringTasksOverlapping(userId, from, to), from, to);
+    }
+
+    private List<TaskResponse> expandSeries(List<Task> series, LocalDate from, LocalDate to){
+        if (series.isEmpty()){
+            return List.of();
         }
 
-        taskRepository.delete(task);
+        long longestDuration = 0;
+        List<UUID> seriesIds = new ArrayList<>(series.size());
+        for (Task task : series){
+            seriesIds.add(task.getId());
+            longestDuration = Math.max(longestDuration, recurrenceExpander.duration(task));
+        }
+
+        Map<UUID, Map<LocalDate, TaskStatus>> overrides = new HashMap<>();
+        for (TaskOccurrenceOverride override : occurrenceOverrideRepository
+                .findByTaskIdInAndOccurrenceDateBetween(seriesIds, from.minusDays(longestDuration), to)){
+            overrides.computeIfAbsent(override.getTaskId(), id -> new HashMap<>())
+                    .put(override.getOccurrenceDate(), override.getStatus());
+        }
+
+        List<TaskResponse> responses = new ArrayList<>();
+        for (Task task : series){
+            Map<LocalDate, TaskStatus> taskOverrides = overrides.getOrDefault(task.getId(), Map.of());
+            for (LocalDate occurrence : recurrenceExpander.occurrenceStarts(task, from, to)){
+                TaskStatus status = taskOverrides.getOrDefault(occurrence, task.getStatus());
+                responses.add(mapOccurrenceToResponse(task, occurrence, status));
+            }
+        }
+        return responses;
+    }
+
+    private static void addSpan(int[] deltas, LocalDate from, LocalDate to, LocalDate start, LocalDate end){
+        LocalDate first = start.isBefore(from) ? from : start;
+        LocalDate last = end.isAfter(to) ? to : end;
+        if (last.isBefore(first)){
+            return;
+        }
+        deltas[(int) ChronoUnit.DAYS.between(from, first)]++;
+        deltas[(int) ChronoUnit.DAYS.between(from, last) + 1]--;
+    }
+
+    private void applyRecurrence(Task task, String recurrence) {
+        if (recurrence == null) {
+            task.setRecurrence(null);
+            task.setRecurrenceEnd(null);
+            return;
+        }
+
+        RecurrenceRule rule = RecurrenceRule.parse(recurrence);
+        if (rule.getUntil() != null && rule.getUntil().isBefore(task.getStart())) {
+            throw new IllegalArgumentException("Recurrence must end after the task starts");
+        }
+
+        LocalDate lastOccurrence = rule.lastOccurrence(task.getStart());
+        task.setRecurrence(rule.toString());
+        task.setRecurrenceEnd(lastOccurrence != null
+                ? lastOccurrence.plusDays(recurrenceExpander.duration(task))
+                : null);
     }
 
     private void validateTitle(String title) {
@@ -171,7 +563,45 @@ public class TaskService {
         }
     }
 
+    private void validateRange(LocalDate from, LocalDate to, int maxDays) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("To date must not be before from date");
+        }
+
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("Date range cannot exceed " + maxDays + " days");
+        }
+    }
+
     private TaskResponse mapToResponse(Task task) {
+        return mapToResponse(task, task.getStatus());
+    }
+
+    // The status is passed separately for changes that are buffered and not on the entity yet
+    private TaskResponse mapToResponse(Task task, TaskStatus status) {
+        long startedAt = RequestPhases.start();
+        try {
+            return new TaskResponse(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    status,
+                    task.getStart(),
+                    task.getEnd(),
+                    status != TaskStatus.COMPLETED && task.getEnd().isBefore(LocalDate.now()),
+                    task.getRecurrence(),
+                    null
+            );
+        } finally {
+            RequestPhases.end(RequestPhase.MAPPING, startedAt);
+        }
+    }
+
+    private TaskResponse mapArchivedToResponse(ArchivedTask task) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
@@ -179,7 +609,29 @@ public class TaskService {
                 task.getStatus(),
                 task.getStart(),
                 task.getEnd(),
-                task.getStatus() != TaskStatus.COMPLETED && task.getEnd().isBefore(LocalDate.now())
+                false,
+                null,
+                null
         );
     }
+
+    private TaskResponse mapOccurrenceToResponse(Task task, LocalDate occurrence, TaskStatus status) {
+        long startedAt = RequestPhases.start();
+        try {
+            LocalDate end = occurrence.plusDays(recurrenceExpander.duration(task));
+            return new TaskResponse(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    status,
+                    occurrence,
+                    end,
+                    status != TaskStatus.COMPLETED && end.isBefore(LocalDate.now()),
+                    task.getRecurrence(),
+                    occurrence
+            );
+        } finally {
+            RequestPhases.end(RequestPhase.MAPPING, startedAt);
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.repository.TaskStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Recomputes the date-driven task counters (overdue, due this week) of every user whose
+ * counters were last evaluated before today. Status counts don't depend on the date and are
+ * left alone.
+ *
+ * Runs often but only touches stale rows, so it catches up after downtime and is a no-op for
+ * the rest of the day. Each chunk locks its task_stats rows first; writers of those users wait
+ * and then apply their change against the new day.
+ */
+@Service
+public class TaskStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsReconciler.class);
+
+    private final TaskStatsRepository taskStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public TaskStatsReconciler(
+            TaskStatsRepository taskStatsRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${tasks.stats.reconcile.enabled:true}") boolean enabled,
+            @Value("${tasks.stats.reconcile.chunk-size:500}") int chunkSize
+    ) {
+        this.taskStatsRepository = taskStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(
+            initialDelayString = "${tasks.stats.reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${tasks.stats.reconcile.interval:PT15M}"
+    )
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate weekEnd = TaskStatsService.weekEnd(today);
+        int reconciled = 0;
+
+        while (true) {
+            Integer users = transactionTemplate.execute(status -> {
+                List<UUID> userIds = taskStatsRepository.lockStale(today, chunkSize);
+                if (userIds.isEmpty()) {
+                    return 0;
+                }
+                taskStatsRepository.recountDateDriven(userIds, today, weekEnd);
+                return userIds.size();
+            });
+            reconciled += users != null ? users : 0;
+
+            if (users == null || users < chunkSize) {
+                break;
+            }
+        }
+
+        if (reconciled > 0) {
+            log.info("Reconciled overdue and due this week task counts of {} users for {}", reconciled, today);
+        }
+    }
+}
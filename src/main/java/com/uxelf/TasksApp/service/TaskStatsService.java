@@ -0,0 +1,118 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.dto.tasks.TaskStatsResponse;
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.TaskStats;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.repository.TaskStatsRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Per-user task counters (task_stats). Reads are a single primary key lookup; writes apply the
+ * difference between a task's state before and after the change, in the writer's transaction.
+ *
+ * Overdue and due-this-week only count one-off tasks that aren't completed. They are relative
+ * to the row's asOf day, which TaskStatsReconciler moves forward when the date changes.
+ */
+@Service
+@AllArgsConstructor
+public class TaskStatsService {
+
+    private final TaskStatsRepository taskStatsRepository;
+
+    public TaskStatsResponse getStats(UUID userId){
+        return taskStatsRepository.findById(userId)
+                .map(this::mapToResponse)
+                .orElseGet(() -> mapToResponse(new TaskStats(userId, LocalDate.now())));
+    }
+
+    // before is null for a created task, after is null for a deleted one
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(UUID userId, TaskSnapshot before, TaskSnapshot after){
+        recordChanges(userId, List.of(new TaskChange(before, after)));
+    }
+
+    // Applies many changes of one user with a single row lock
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanges(UUID userId, List<TaskChange> changes){
+        List<TaskChange> effective = changes.stream()
+                .filter(change -> !Objects.equals(change.before(), change.after()))
+                .toList();
+        if (effective.isEmpty()){
+            return;
+        }
+
+        taskStatsRepository.insertIfAbsent(userId, LocalDate.now());
+        TaskStats stats = taskStatsRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Task stats missing for user " + userId));
+
+        for (TaskChange change : effective){
+            if (change.before() != null){
+                apply(stats, change.before(), -1);
+            }
+            if (change.after() != null){
+                apply(stats, change.after(), 1);
+            }
+        }
+    }
+
+    static LocalDate weekEnd(LocalDate day){
+        return day.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+    }
+
+    private void apply(TaskStats stats, TaskSnapshot task, int sign){
+        switch (task.status()){
+            case PENDING -> stats.setPending(stats.getPending() + sign);
+            case IN_PROGRESS -> stats.setInProgress(stats.getInProgress() + sign);
+            case COMPLETED -> stats.setCompleted(stats.getCompleted() + sign);
+        }
+
+        if (task.recurring() || task.status() == TaskStatus.COMPLETED){
+            return;
+        }
+        if (task.end().isBefore(stats.getAsOf())){
+            stats.setOverdue(stats.getOverdue() + sign);
+        } else if (!task.end().isAfter(weekEnd(stats.getAsOf()))){
+            stats.setDueThisWeek(stats.getDueThisWeek() + sign);
+        }
+    }
+
+    private TaskStatsResponse mapToResponse(TaskStats stats){
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        byStatus.put(TaskStatus.PENDING, stats.getPending());
+        byStatus.put(TaskStatus.IN_PROGRESS, stats.getInProgress());
+        byStatus.put(TaskStatus.COMPLETED, stats.getCompleted());
+
+        return new TaskStatsResponse(
+                byStatus,
+                stats.getPending() + stats.getInProgress() + stats.getCompleted(),
+                stats.getOverdue(),
+                stats.getDueThisWeek(),
+                stats.getAsOf()
+        );
+    }
+
+    public record TaskChange(TaskSnapshot before, TaskSnapshot after) {
+    }
+
+    /**
+     * The fields of a task the counters depend on.
+     */
+    public record TaskSnapshot(TaskStatus status, LocalDate end, boolean recurring) {
+        public static TaskSnapshot of(Task task){
+            return new TaskSnapshot(task.getStatus(), task.getEnd(), task.getRecurrence() != null);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.repository.TaskRepository;
+import com.uxelf.TasksApp.service.TaskStatsService.TaskChange;
+import com.uxelf.TasksApp.service.TaskStatsService.TaskSnapshot;
+import com.uxelf.TasksApp.service.history.TaskHistoryEntry;
+import com.uxelf.TasksApp.service.history.TaskHistoryRecorder;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Changes the status of many tasks with a single UPDATE ... RETURNING, then brings
+ * everything derived from those rows up to date: the task counters, the task history, the Task
+ * second-level cache region, the read coalescer and the caches of other nodes.
+ */
+@Service
+@AllArgsConstructor
+public class TaskStatusBulkUpdater {
+
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final TaskRepository taskRepository;
+    private final TaskStatsService taskStatsService;
+    private final ReadCoalescer readCoalescer;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ClusterInvalidationBus clusterInvalidationBus;
+    private final TaskHistoryRecorder taskHistoryRecorder;
+
+    /**
+     * Moves the user's one-off tasks matching {@code filter} to {@code newStatus} and returns the
+     * ids of the tasks that changed. Tasks already in {@code newStatus} are left untouched.
+     */
+    @Transactional
+    public List<UUID> updateStatuses(UUID userId, TaskStatus newStatus, Filter filter){
+        List<Object[]> rows = taskRepository.updateStatuses(
+                userId,
+                newStatus.name(),
+                filter.currentStatuses().stream().map(Enum::name).toArray(String[]::new),
+                filter.ids() != null ? filter.ids().toArray(UUID[]::new) : new UUID[0],
+                filter.from() != null ? filter.from() : MIN_DATE,
+                filter.to() != null ? filter.to() : MAX_DATE,
+                filter.endBefore() != null ? filter.endBefore() : MAX_DATE
+        );
+        if (rows.isEmpty()){
+            return List.of();
+        }
+
+        List<UUID> ids = new ArrayList<>(rows.size());
+        List<TaskChange> changes = new ArrayList<>(rows.size());
+        for (Object[] row : rows){
+            LocalDate end = toLocalDate(row[2]);
+            TaskStatus from = TaskStatus.valueOf((String) row[1]);
+            ids.add((UUID) row[0]);
+            changes.add(new TaskChange(
+                    new TaskSnapshot(from, end, false),
+                    new TaskSnapshot(newStatus, end, false)
+            ));
+            taskHistoryRecorder.record(TaskHistoryEntry.statusChanged((UUID) row[0], userId, from, newStatus));
+        }
+
+        taskStatsService.recordChanges(userId, changes);
+        evictFromCache(ids);
+        readCoalescer.userChanged(userId);
+        clusterInvalidationBus.tasksChanged(userId, ids);
+        return ids;
+    }
+
+    /**
+     * Applies status changes of any number of tasks and users in one statement, skipping tasks
+     * that no longer exist or already have the status. Returns how many tasks changed.
+     * Joins the caller's transaction, so a write never holds a second connection.
+     */
+    @Transactional
+    public int applyStatuses(List<StatusChange> changes){
+        if (changes.isEmpty()){
+            return 0;
+        }
+
+        List<Object[]> rows = taskRepository.applyStatuses(
+                changes.stream().map(StatusChange::taskId).toArray(UUID[]::new),
+                changes.stream().map(StatusChange::userId).toArray(UUID[]::new),
+                changes.stream().map(change -> change.status().name()).toArray(String[]::new)
+        );
+        if (rows.isEmpty()){
+            return 0;
+        }
+
+        List<UUID> ids = new ArrayList<>(rows.size());
+        Map<UUID, List<TaskChange>> changesByUser = new HashMap<>();
+        Map<UUID, List<UUID>> idsByUser = new HashMap<>();
+        for (Object[] row : rows){
+            LocalDate end = toLocalDate(row[4]);
+            boolean recurring = (Boolean) row[5];
+            TaskStatus from = TaskStatus.valueOf((String) row[2]);
+            TaskStatus to = TaskStatus.valueOf((String) row[3]);
+            ids.add((UUID) row[0]);
+            idsByUser.computeIfAbsent((UUID) row[1], userId -> new ArrayList<>()).add((UUID) row[0]);
+            changesByUser.computeIfAbsent((UUID) row[1], userId -> new ArrayList<>()).add(new TaskChange(
+                    new TaskSnapshot(from, end, recurring),
+                    new TaskSnapshot(to, end, recurring)
+            ));
+            // From the rows written, so statuses a flush merged away or skipped leave no entry
+            taskHistoryRecorder.record(TaskHistoryEntry.statusChanged((UUID) row[0], (UUID) row[1], from, to));
+        }
+
+        changesByUser.forEach(taskStatsService::recordChanges);
+        evictFromCache(ids);
+        changesByUser.keySet().forEach(readCoalescer::userChanged);
+        idsByUser.forEach(clusterInvalidationBus::tasksChanged);
+        return rows.size();
+    }
+
+    // Hibernate doesn't see what a native statement run as a query changes, so the cached
+    // tasks are dropped now and again after commit, in case a concurrent read cached the old row
+    private void evictFromCache(List<UUID> ids){
+        Cache cache = entityManagerFactory.getCache();
+        ids.forEach(id -> cache.evict(Task.class, id));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()){
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(id -> cache.evict(Task.class, id));
+                }
+            });
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value){
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    /**
+     * Tasks must match every part: an id from {@code ids} (any id when empty or null), overlap
+     * [{@code from}, {@code to}], have one of {@code currentStatuses} and end before
+     * {@code endBefore}. Null dates leave that bound open.
+     */
+    public record Filter(List<UUID> ids, LocalDate from, LocalDate to, Set<TaskStatus> currentStatuses, LocalDate endBefore) {
+    }
+
+    public record StatusChange(UUID taskId, UUID userId, TaskStatus status) {
+    }
+}
@@ -0,0 +1,227 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.service.TaskStatusBulkUpdater.StatusChange;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind for status-only task updates, off unless tasks.write-behind.enabled is set.
+ *
+ * Accepted changes are kept per user and task, so a card dragged back and forth ends up as one
+ * write with its last status. Every flush-interval the buffer is drained into set-based updates
+ * of at most batch-size tasks. Before any read or other write of a user that user's changes
+ * are flushed, so callers always see what they were told succeeded. Each user's buffer has its
+ * own lock, a flush only ever waits for a write of the same user's changes.
+ *
+ * A change is buffered once the transaction accepting it commits. A flush from inside a
+ * transaction joins it, and what it wrote goes back into the buffer if that transaction rolls
+ * back.
+ *
+ * The buffer is flushed on shutdown and changes arriving afterwards are written directly.
+ * Changes acknowledged less than one interval before a crash can be lost.
+ */
+@Component
+public class TaskStatusWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatusWriteBehind.class);
+
+    private final ConcurrentMap<UUID, UserBuffer> pending = new ConcurrentHashMap<>();
+    private final TaskStatusBulkUpdater taskStatusBulkUpdater;
+    private final boolean enabled;
+    private final int batchSize;
+    private volatile boolean closed;
+
+    public TaskStatusWriteBehind(
+            TaskStatusBulkUpdater taskStatusBulkUpdater,
+            @Value("${tasks.write-behind.enabled:false}") boolean enabled,
+            @Value("${tasks.write-behind.batch-size:500}") int batchSize
+    ) {
+        this.taskStatusBulkUpdater = taskStatusBulkUpdater;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Buffers the new status of a task the caller owns, after the caller's transaction commits.
+     */
+    public void submit(UUID taskId, UUID userId, TaskStatus status) {
+        StatusChange change = new StatusChange(taskId, userId, status);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            buffer(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                buffer(change);
+            }
+        });
+    }
+
+    // The buffered status of a task that isn't written yet
+    public Optional<TaskStatus> pendingStatus(UUID userId, UUID taskId) {
+        UserBuffer buffer = pending.get(userId);
+        StatusChange change = buffer != null ? buffer.changes.get(taskId) : null;
+        return Optional.ofNullable(change).map(StatusChange::status);
+    }
+
+    public void flush(UUID userId) {
+        UserBuffer buffer = pending.get(userId);
+        if (buffer == null) {
+            return;
+        }
+        // Also waits for a scheduled flush that's writing this user's changes right now
+        buffer.lock.lock();
+        try {
+            write(buffer.drain());
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the changes of all users, batching across users. Users whose buffer is being
+     * flushed by a request are skipped, that flush writes them.
+     */
+    @Scheduled(fixedDelayString = "${tasks.write-behind.flush-interval:PT0.2S}")
+    public void flushAll() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<StatusChange> batch = new ArrayList<>(batchSize);
+        List<UserBuffer> locked = new ArrayList<>();
+        try {
+            for (UserBuffer buffer : pending.values()) {
+                if (!buffer.lock.tryLock()) {
+                    continue;
+                }
+                locked.add(buffer);
+                batch.addAll(buffer.drain());
+                if (batch.size() >= batchSize) {
+                    write(batch);
+                    batch.clear();
+                    unlockAll(locked);
+                }
+            }
+            write(batch);
+        } catch (RuntimeException e) {
+            log.warn("Flushing buffered task statuses failed, retrying on the next run", e);
+        } finally {
+            unlockAll(locked);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        flushAll();
+    }
+
+    private void buffer(StatusChange change) {
+        pending.compute(change.userId(), (userId, buffer) -> {
+            UserBuffer target = buffer != null ? buffer : new UserBuffer(userId);
+            target.changes.put(change.taskId(), change);
+            return target;
+        });
+        // Once shutdown has started no scheduled flush is left to pick the change up
+        if (closed) {
+            flushAll();
+        }
+    }
+
+    // Drops the buffers left empty, so users who stopped dragging cards don't stay in the map
+    private void unlockAll(List<UserBuffer> locked) {
+        for (UserBuffer buffer : locked) {
+            buffer.lock.unlock();
+            pending.computeIfPresent(buffer.userId, (userId, current) ->
+                    current == buffer && current.changes.isEmpty() && !current.lock.isLocked() ? null : current);
+        }
+        locked.clear();
+    }
+
+    private void write(List<StatusChange> changes) {
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            List<StatusChange> batch = List.copyOf(changes.subList(from, Math.min(from + batchSize, changes.size())));
+            try {
+                taskStatusBulkUpdater.applyStatuses(batch);
+            } catch (RuntimeException e) {
+                restore(changes.subList(from, changes.size()));
+                throw e;
+            }
+            restoreOnRollback(batch);
+        }
+    }
+
+    // Written as part of the caller's transaction, so they're only gone from the buffer once it commits
+    private void restoreOnRollback(List<StatusChange> batch) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    restore(batch);
+                }
+            }
+        });
+    }
+
+    // Put back unless a task got a newer status meanwhile
+    private void restore(List<StatusChange> changes) {
+        for (StatusChange change : changes) {
+            pending.compute(change.userId(), (userId, buffer) -> {
+                UserBuffer target = buffer != null ? buffer : new UserBuffer(userId);
+                target.changes.putIfAbsent(change.taskId(), change);
+                return target;
+            });
+        }
+    }
+
+    private static final class UserBuffer {
+
+        private final UUID userId;
+        private final ConcurrentMap<UUID, StatusChange> changes = new ConcurrentHashMap<>();
+        // Only flushes take it, buffering a change never waits. A request's flush has to wait
+        // for a scheduled flush that drained this user's changes but hasn't written them yet:
+        // reading past it would show the old statuses, writing past it could let the older
+        // status land last
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private UserBuffer(UUID userId) {
+            this.userId = userId;
+        }
+
+        // An entry is only removed if it wasn't replaced in the meantime, a newer status stays
+        // for the next flush
+        private List<StatusChange> drain() {
+            List<StatusChange> drained = new ArrayList<>();
+            for (Map.Entry<UUID, StatusChange> entry : changes.entrySet()) {
+                if (changes.remove(entry.getKey(), entry.getValue())) {
+                    drained.add(entry.getValue());
+                }
+            }
+            return drained;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.uxelf.TasksApp.service.history;
+
+import com.uxelf.TasksApp.dto.tasks.TaskFieldChange;
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.enums.TaskChangeType;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A change of one task, as the fields that differ between before and after. A created or
+ * restored task lists every field it has, a deleted one every field it had.
+ */
+public record TaskHistoryEntry(UUID taskId, UUID authorId, TaskChangeType changeType,
+                               List<TaskFieldChange> changes, Instant changedAt) {
+
+    public static TaskHistoryEntry created(Task task) {
+        return of(task, TaskChangeType.CREATED, Map.of(), fields(task));
+    }
+
+    // before is fields(task) taken before the task was modified
+    public static TaskHistoryEntry updated(Task task, Map<String, String> before) {
+        return of(task, TaskChangeType.UPDATED, before, fields(task));
+    }
+
+    // For status changes written by set-based updates, which return the rows but no entities
+    public static TaskHistoryEntry statusChanged(UUID taskId, UUID authorId, TaskStatus from, TaskStatus to) {
+        return statusOnly(taskId, authorId, "status", from, to);
+    }
+
+    // The status of one occurrence of a series, listed as field status@<occurrence date>; from
+    // is the occurrence's previous override, or the series status when it had none
+    public static TaskHistoryEntry occurrenceChanged(Task task, LocalDate occurrence, TaskStatus from, TaskStatus to) {
+        return statusOnly(task.getId(), task.getAuthorId(), "status@" + occurrence, from, to);
+    }
+
+    public static TaskHistoryEntry deleted(Task task) {
+        return of(task, TaskChangeType.DELETED, fields(task), Map.of());
+    }
+
+    public static TaskHistoryEntry restored(Task task) {
+        return of(task, TaskChangeType.RESTORED, Map.of(), fields(task));
+    }
+
+    // In a fixed order, so the changes of every entry are listed the same way
+    public static Map<String, String> fields(Task task) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", task.getTitle());
+        fields.put("description", task.getDescription());
+        fields.put("status", text(task.getStatus()));
+        fields.put("start", text(task.getStart()));
+        fields.put("end", text(task.getEnd()));
+        fields.put("recurrence", task.getRecurrence());
+        return fields;
+    }
+
+    private static TaskHistoryEntry of(Task task, TaskChangeType changeType, Map<String, String> before, Map<String, String> after) {
+        Set<String> names = new LinkedHashSet<>(before.keySet());
+        names.addAll(after.keySet());
+
+        List<TaskFieldChange> changes = new ArrayList<>();
+        for (String name : names) {
+            String from = before.get(name);
+            String to = after.get(name);
+            if (!Objects.equals(from, to)) {
+                changes.add(new TaskFieldChange(name, from, to));
+            }
+        }
+        return new TaskHistoryEntry(task.getId(), task.getAuthorId(), changeType, List.copyOf(changes), Instant.now());
+    }
+
+    private static TaskHistoryEntry statusOnly(UUID taskId, UUID authorId, String field, TaskStatus from, TaskStatus to) {
+        List<TaskFieldChange> changes = from != to
+                ? List.of(new TaskFieldChange(field, from.name(), to.name()))
+                : List.of();
+        return new TaskHistoryEntry(taskId, authorId, TaskChangeType.UPDATED, changes, Instant.now());
+    }
+
+    private static String text(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
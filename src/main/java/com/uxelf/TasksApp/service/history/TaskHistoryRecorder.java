@@ -0,0 +1,210 @@
+package com.uxelf.TasksApp.service.history;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records task changes off the request path. On by default, tasks.history.enabled=false
+ * turns it off.
+ *
+ * Entries are queued after commit into a bounded ring buffer of {@code capacity} entries. A
+ * single writer thread drains it into JDBC batches of at most batch-size rows, so under load
+ * many changes share one round trip. When the buffer is full, overflow decides what a
+ * committing request does: {@code drop}, the default, drops the entry right away and counts
+ * it; {@code block} waits up to max-block for room first. The wait happens before Spring hands
+ * the request's connection back to the pool, so block trades pool capacity for completeness.
+ * Failed batches are retried while the buffer takes the strain.
+ *
+ * The writer stops after the web server, writing out what's left in the buffer; entries
+ * arriving afterwards are written directly. Entries buffered when the process dies are lost.
+ *
+ * Metrics: tasks.history.buffered, tasks.history.written, tasks.history.dropped
+ */
+@Component
+public class TaskHistoryRecorder implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TaskHistoryRecorder.class);
+    // How often an idle writer checks whether it should stop
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final TaskHistoryStore taskHistoryStore;
+    private final BlockingQueue<TaskHistoryEntry> buffer;
+    private final boolean enabled;
+    private final int batchSize;
+    private final OverflowPolicy overflow;
+    private final Duration maxBlock;
+    private final Counter written;
+    private final Counter dropped;
+    private volatile boolean running;
+    private volatile boolean closed;
+    private Thread writer;
+
+    public TaskHistoryRecorder(
+            TaskHistoryStore taskHistoryStore,
+            MeterRegistry meterRegistry,
+            @Value("${tasks.history.enabled:true}") boolean enabled,
+            @Value("${tasks.history.capacity:10000}") int capacity,
+            @Value("${tasks.history.batch-size:500}") int batchSize,
+            @Value("${tasks.history.overflow:drop}") String overflow,
+            @Value("${tasks.history.max-block:PT0.05S}") Duration maxBlock
+    ) {
+        this.taskHistoryStore = taskHistoryStore;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.overflow = OverflowPolicy.valueOf(overflow.trim().toUpperCase(Locale.ROOT));
+        this.maxBlock = maxBlock;
+        this.written = meterRegistry.counter("tasks.history.written");
+        this.dropped = meterRegistry.counter("tasks.history.dropped");
+        Gauge.builder("tasks.history.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    // Queued after commit, a rolled back change leaves no history
+    public void record(TaskHistoryEntry entry) {
+        if (!enabled || entry.changes().isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(entry);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "task-history-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closed = true;
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<TaskHistoryEntry> rest = new ArrayList<>();
+        buffer.drainTo(rest);
+        if (!rest.isEmpty()) {
+            writeNow(rest);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Below the web server's phase, so the writer is stopped once no more requests come in
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void enqueue(TaskHistoryEntry entry) {
+        if (closed) {
+            writeNow(List.of(entry));
+            return;
+        }
+
+        boolean accepted;
+        if (overflow == OverflowPolicy.BLOCK) {
+            try {
+                accepted = buffer.offer(entry, maxBlock.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = buffer.offer(entry);
+        }
+        if (!accepted) {
+            dropped.increment();
+            log.debug("Task history buffer full, dropped the {} entry of task {}", entry.changeType(), entry.taskId());
+        }
+    }
+
+    private void drain() {
+        List<TaskHistoryEntry> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                TaskHistoryEntry first = buffer.poll(POLL_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            buffer.drainTo(batch, batchSize - 1);
+            writeBatch(List.copyOf(batch));
+            batch.clear();
+        }
+    }
+
+    // Retried until it's written; once stopping there's one attempt left
+    private void writeBatch(List<TaskHistoryEntry> batch) {
+        while (running) {
+            try {
+                taskHistoryStore.insert(batch);
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Writing {} task history entries failed, retrying in {}", batch.size(), RETRY_DELAY, e);
+            }
+            try {
+                Thread.sleep(RETRY_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                // Checked against running on the next attempt
+            }
+        }
+        writeNow(batch);
+    }
+
+    private void writeNow(List<TaskHistoryEntry> entries) {
+        try {
+            taskHistoryStore.insert(entries);
+            written.increment(entries.size());
+        } catch (RuntimeException e) {
+            dropped.increment(entries.size());
+            log.error("Writing {} task history entries failed, they are lost", entries.size(), e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.uxelf.TasksApp.service.history;
+
+import com.uxelf.TasksApp.dto.tasks.TaskFieldChange;
+import com.uxelf.TasksApp.dto.tasks.TaskHistoryPageResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskHistoryResponse;
+import com.uxelf.TasksApp.entity.TaskHistory;
+import com.uxelf.TasksApp.exception.BusinessException;
+import com.uxelf.TasksApp.repository.TaskHistoryRepository;
+import com.uxelf.TasksApp.repository.TaskRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pages through the history of a task, newest first. The history is written asynchronously by
+ * TaskHistoryRecorder, so a change can take a moment to show up.
+ */
+@Service
+@AllArgsConstructor
+public class TaskHistoryService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final TaskRepository taskRepository;
+    private final JsonMapper jsonMapper;
+
+    public TaskHistoryPageResponse getHistory(UUID taskId, UUID userId, Long before, int size){
+        if (size < 1 || size > MAX_PAGE_SIZE){
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<TaskHistory> rows = taskHistoryRepository.findByTaskIdAndAuthorIdAndIdLessThanOrderByIdDesc(
+                taskId, userId, before != null ? before : Long.MAX_VALUE, PageRequest.ofSize(size));
+
+        // Deleted tasks only have their history, so "not found" and "not yours" are told apart
+        // on the live task, and only when the user has no history for it at all
+        if (rows.isEmpty() && before == null){
+            taskRepository.findById(taskId)
+                    .map(task -> {
+                        if (!task.getAuthorId().equals(userId)){
+                            throw new BusinessException("You don't have permission to see this task");
+                        }
+                        return task;
+                    })
+                    .orElseThrow(() -> new BusinessException("Task not found"));
+        }
+
+        List<TaskHistoryResponse> entries = rows.stream()
+                .map(this::mapToResponse)
+                .toList();
+        Long nextBefore = rows.size() == size ? rows.get(rows.size() - 1).getId() : null;
+        return new TaskHistoryPageResponse(entries, nextBefore);
+    }
+
+    private TaskHistoryResponse mapToResponse(TaskHistory row){
+        return new TaskHistoryResponse(
+                row.getId(),
+                row.getChangeType(),
+                row.getChangedAt(),
+                List.of(jsonMapper.readValue(row.getChanges(), TaskFieldChange[].class))
+        );
+    }
+}
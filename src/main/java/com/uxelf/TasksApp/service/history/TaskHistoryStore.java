@@ -0,0 +1,41 @@
+package com.uxelf.TasksApp.service.history;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Inserts history entries into task_history as one JDBC batch. Plain JDBC rather than JPA:
+ * with identity ids Hibernate would insert the rows one statement at a time. Add
+ * reWriteBatchedInserts=true to the Postgres URL to have the driver send a batch as
+ * multi-row INSERTs.
+ */
+@Component
+public class TaskHistoryStore {
+
+    private static final String INSERT = """
+        INSERT INTO task_history (task_id, author_id, change_type, changes, changed_at)
+        VALUES (?, ?, ?, ?, ?)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public TaskHistoryStore(JdbcTemplate jdbcTemplate, JsonMapper jsonMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public void insert(List<TaskHistoryEntry> entries) {
+        jdbcTemplate.batchUpdate(INSERT, entries, entries.size(), (statement, entry) -> {
+            statement.setObject(1, entry.taskId());
+            statement.setObject(2, entry.authorId());
+            statement.setString(3, entry.changeType().name());
+            statement.setString(4, jsonMapper.writeValueAsString(entry.changes()));
+            statement.setObject(5, entry.changedAt().atOffset(ZoneOffset.UTC));
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package com.uxelf.TasksApp.service.recurrence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uxelf.TasksApp.entity.Task;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Expands recurring tasks into the occurrences visible in a date window.
+ *
+ * Expansions are cached by rule, series dates and window rather than by task id, so an edit to
+ * a series can never serve stale occurrences and identical series share entries. Every month
+ * read goes through here, so the cache takes no lock on hits.
+ */
+@Component
+public class RecurrenceExpander {
+
+    private static final int MAX_CACHED_EXPANSIONS = 10_000;
+
+    private final Cache<ExpansionKey, List<LocalDate>> expansions = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_EXPANSIONS)
+            .build();
+
+    /**
+     * Start dates of the occurrences of {@code task} that overlap [{@code from}, {@code to}].
+     * Every occurrence lasts as long as the task's own start/end span.
+     */
+    public List<LocalDate> occurrenceStarts(Task task, LocalDate from, LocalDate to) {
+        return occurrenceStarts(task.getRecurrence(), task.getStart(), task.getEnd(), from, to);
+    }
+
+    // Same, for series read without the entity
+    public List<LocalDate> occurrenceStarts(String recurrence, LocalDate start, LocalDate end, LocalDate from, LocalDate to) {
+        long duration = duration(start, end);
+        ExpansionKey key = new ExpansionKey(recurrence, start, duration, from, to);
+
+        List<LocalDate> cached = expansions.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<LocalDate> occurrences = List.copyOf(RecurrenceRule.parse(recurrence)
+                .occurrencesBetween(start, from.minusDays(duration), to));
+
+        expansions.put(key, occurrences);
+        return occurrences;
+    }
+
+    public long duration(Task task) {
+        return duration(task.getStart(), task.getEnd());
+    }
+
+    public long duration(LocalDate start, LocalDate end) {
+        return ChronoUnit.DAYS.between(start, end);
+    }
+
+    private record ExpansionKey(String rule, LocalDate seriesStart, long duration, LocalDate from, LocalDate to) {
+    }
+}
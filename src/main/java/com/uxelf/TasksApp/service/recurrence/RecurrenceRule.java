@@ -0,0 +1,270 @@
+package com.uxelf.TasksApp.service.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Subset of the RFC 5545 RRULE used by recurring tasks, for example
+ * {@code FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,TH;UNTIL=20271231}.
+ *
+ * Supported parts: FREQ (DAILY, WEEKLY, MONTHLY, YEARLY), INTERVAL, COUNT or UNTIL, and BYDAY
+ * for weekly rules. Weeks start on Monday. Dates that don't exist in a period (the 31st in a
+ * 30 day month, February 29 on common years) are skipped and don't count towards COUNT.
+ */
+public final class RecurrenceRule {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY, YEARLY }
+
+    private static final int MAX_INTERVAL = 366;
+    private static final int MAX_COUNT = 1000;
+    private static final DateTimeFormatter UNTIL_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY,
+            "TU", DayOfWeek.TUESDAY,
+            "WE", DayOfWeek.WEDNESDAY,
+            "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY,
+            "SA", DayOfWeek.SATURDAY,
+            "SU", DayOfWeek.SUNDAY
+    );
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDate until;
+    private final Set<DayOfWeek> byDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDate until, Set<DayOfWeek> byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule can't be empty");
+        }
+
+        String body = rule.trim().toUpperCase();
+        if (body.startsWith("RRULE:")) {
+            body = body.substring("RRULE:".length());
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDate until = null;
+        Set<DayOfWeek> byDay = new TreeSet<>();
+
+        for (String part : body.split(";")) {
+            String[] keyValue = part.split("=", 2);
+            if (keyValue.length != 2 || keyValue[1].isEmpty()) {
+                throw invalid(rule);
+            }
+            String value = keyValue[1];
+            switch (keyValue[0]) {
+                case "FREQ" -> frequency = parseFrequency(value, rule);
+                case "INTERVAL" -> interval = parseBounded(value, MAX_INTERVAL, rule);
+                case "COUNT" -> count = parseBounded(value, MAX_COUNT, rule);
+                case "UNTIL" -> until = parseUntil(value, rule);
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        DayOfWeek dayOfWeek = DAYS.get(day);
+                        if (dayOfWeek == null) {
+                            throw invalid(rule);
+                        }
+                        byDay.add(dayOfWeek);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + keyValue[0]);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule must define FREQ");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("Recurrence rule can't define both COUNT and UNTIL");
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly recurrence");
+        }
+
+        return new RecurrenceRule(frequency, interval, count, until, byDay);
+    }
+
+    public Frequency getFrequency() {
+        return frequency;
+    }
+
+    public LocalDate getUntil() {
+        return until;
+    }
+
+    /**
+     * Start dates of the occurrences of a series starting on {@code seriesStart} that fall in
+     * [{@code from}, {@code to}], in ascending order. Rules without COUNT jump straight to the
+     * period containing {@code from}, so the cost depends on the window, not the series age.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate seriesStart, LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        if (to.isBefore(from) || to.isBefore(seriesStart)) {
+            return result;
+        }
+
+        long period = count == null ? firstPeriod(seriesStart, from) : 0;
+        int emitted = 0;
+
+        while (true) {
+            LocalDate periodStart = periodStart(seriesStart, period);
+            if (periodStart.isAfter(to) || (until != null && periodStart.isAfter(until))) {
+                return result;
+            }
+
+            for (LocalDate candidate : candidates(seriesStart, periodStart)) {
+                if (candidate.isBefore(seriesStart)) {
+                    continue;
+                }
+                if (until != null && candidate.isAfter(until)) {
+                    return result;
+                }
+                if (count != null && ++emitted > count) {
+                    return result;
+                }
+                if (candidate.isAfter(to)) {
+                    return result;
+                }
+                if (!candidate.isBefore(from)) {
+                    result.add(candidate);
+                }
+            }
+            period++;
+        }
+    }
+
+    /**
+     * Start date of the last occurrence, an upper bound of it for UNTIL rules, or null when the
+     * series never ends.
+     */
+    public LocalDate lastOccurrence(LocalDate seriesStart) {
+        if (count == null) {
+            return until;
+        }
+        List<LocalDate> occurrences = occurrencesBetween(seriesStart, seriesStart, LocalDate.MAX);
+        return occurrences.isEmpty() ? seriesStart : occurrences.get(occurrences.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_FORMAT.format(until));
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=").append(byDay.stream()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        return rule.toString();
+    }
+
+    private long firstPeriod(LocalDate seriesStart, LocalDate from) {
+        if (!from.isAfter(seriesStart)) {
+            return 0;
+        }
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(seriesStart, from);
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekStart(seriesStart), weekStart(from));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(seriesStart), YearMonth.from(from));
+            case YEARLY -> from.getYear() - seriesStart.getYear();
+        };
+        return units / interval;
+    }
+
+    private LocalDate periodStart(LocalDate seriesStart, long period) {
+        long step = period * interval;
+        return switch (frequency) {
+            case DAILY -> seriesStart.plusDays(step);
+            case WEEKLY -> weekStart(seriesStart).plusWeeks(step);
+            case MONTHLY -> seriesStart.withDayOfMonth(1).plusMonths(step);
+            case YEARLY -> seriesStart.withDayOfYear(1).plusYears(step);
+        };
+    }
+
+    private List<LocalDate> candidates(LocalDate seriesStart, LocalDate periodStart) {
+        return switch (frequency) {
+            case DAILY -> List.of(periodStart);
+            case WEEKLY -> {
+                Set<DayOfWeek> days = byDay.isEmpty() ? Set.of(seriesStart.getDayOfWeek()) : byDay;
+                List<LocalDate> dates = new ArrayList<>(days.size());
+                for (DayOfWeek day : days) {
+                    dates.add(periodStart.plusDays(day.getValue() - 1));
+                }
+                yield dates;
+            }
+            case MONTHLY -> {
+                int day = seriesStart.getDayOfMonth();
+                yield day <= periodStart.lengthOfMonth() ? List.of(periodStart.withDayOfMonth(day)) : List.of();
+            }
+            case YEARLY -> {
+                MonthDay monthDay = MonthDay.from(seriesStart);
+                yield monthDay.isValidYear(periodStart.getYear()) ? List.of(monthDay.atYear(periodStart.getYear())) : List.of();
+            }
+        };
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.minusDays(date.getDayOfWeek().getValue() - 1);
+    }
+
+    private static Frequency parseFrequency(String value, String rule) {
+        return Arrays.stream(Frequency.values())
+                .filter(frequency -> frequency.name().equals(value))
+                .findFirst()
+                .orElseThrow(() -> invalid(rule));
+    }
+
+    private static int parseBounded(String value, int max, String rule) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1 || parsed > max) {
+                throw invalid(rule);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw invalid(rule);
+        }
+    }
+
+    private static LocalDate parseUntil(String value, String rule) {
+        try {
+            return LocalDate.parse(value.length() > 8 ? value.substring(0, 8) : value, UNTIL_FORMAT);
+        } catch (DateTimeParseException e) {
+            throw invalid(rule);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String rule) {
+        return new IllegalArgumentException("Invalid recurrence rule: " + rule);
+    }
+}
@@ -0,0 +1,159 @@
+package com.uxelf.TasksApp.service.reminder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel: {@code levels} wheels of {@code wheelSize} slots, where a slot of
+ * level n spans wheelSize^n ticks. A timer goes into the coarsest level that still separates it
+ * from the current tick and moves down a level each time its slot comes around, so scheduling,
+ * cancelling and expiring are O(1) and only the slots of the ticks that pass are touched.
+ *
+ * Deadlines further out than wheelSize^levels ticks are refused. Not thread-safe.
+ */
+public class HierarchicalTimingWheel<K, V> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final int levels;
+    private final List<List<Timer<K, V>>>[] wheels;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Tick, wheel size and levels must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.levels = levels;
+        this.wheels = new List[levels];
+        for (int level = 0; level < levels; level++) {
+            List<List<Timer<K, V>>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new ArrayList<>());
+            }
+            wheels[level] = slots;
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public long horizonMillis() {
+        return span(levels) * tickMillis;
+    }
+
+    /**
+     * Schedules {@code value} under {@code key} for {@code deadlineMillis}, replacing a timer
+     * already scheduled under that key unless it's identical. A deadline that has passed expires
+     * on the next tick. Returns false, and leaves no timer for the key, when the deadline is
+     * beyond the horizon.
+     */
+    public boolean schedule(K key, long deadlineMillis, V value) {
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        Timer<K, V> existing = timers.get(key);
+        if (existing != null && existing.deadlineTick == deadlineTick && existing.value.equals(value)) {
+            return true;
+        }
+        cancel(key);
+        if (deadlineTick - currentTick >= span(levels)) {
+            return false;
+        }
+        Timer<K, V> timer = new Timer<>(key, deadlineTick, value);
+        timers.put(key, timer);
+        insert(timer);
+        return true;
+    }
+
+    // Cancelled timers are only flagged; they're dropped when their slot is next visited
+    public boolean cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.cancelled = true;
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the values of the timers that expired,
+     * in deadline order.
+     */
+    public List<V> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<V> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+
+            List<Timer<K, V>> slot = wheels[0].get((int) (currentTick % wheelSize));
+            for (Timer<K, V> timer : slot) {
+                if (!timer.cancelled) {
+                    timers.remove(timer.key);
+                    expired.add(timer.value);
+                }
+            }
+            slot.clear();
+        }
+        return expired;
+    }
+
+    // When a level's slot comes around, its timers are now close enough for a finer level
+    private void cascade() {
+        for (int level = 1; level < levels; level++) {
+            long span = span(level);
+            if (currentTick % span != 0) {
+                return;
+            }
+            List<Timer<K, V>> slot = wheels[level].get((int) ((currentTick / span) % wheelSize));
+            List<Timer<K, V>> moving = new ArrayList<>(slot);
+            slot.clear();
+            for (Timer<K, V> timer : moving) {
+                if (!timer.cancelled) {
+                    insert(timer);
+                }
+            }
+        }
+    }
+
+    private void insert(Timer<K, V> timer) {
+        long delta = timer.deadlineTick - currentTick;
+        int level = 0;
+        while (level < levels - 1 && delta >= span(level + 1)) {
+            level++;
+        }
+        int slot = (int) ((timer.deadlineTick / span(level)) % wheelSize);
+        wheels[level].get(slot).add(timer);
+    }
+
+    private long span(int level) {
+        long span = 1;
+        for (int i = 0; i < level; i++) {
+            span *= wheelSize;
+        }
+        return span;
+    }
+
+    private static final class Timer<K, V> {
+        private final K key;
+        private final long deadlineTick;
+        private final V value;
+        private boolean cancelled;
+
+        private Timer(K key, long deadlineTick, V value) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+}
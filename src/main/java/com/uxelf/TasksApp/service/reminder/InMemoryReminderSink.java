@@ -0,0 +1,30 @@
+package com.uxelf.TasksApp.service.reminder;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps delivered reminders in memory, for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.reminders.sink", havingValue = "memory")
+public class InMemoryReminderSink implements ReminderSink {
+
+    private final List<Reminder> delivered = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void deliver(Reminder reminder) {
+        delivered.add(reminder);
+    }
+
+    public List<Reminder> getDelivered() {
+        return List.copyOf(delivered);
+    }
+
+    public void clear() {
+        delivered.clear();
+    }
+}
@@ -0,0 +1,19 @@
+package com.uxelf.TasksApp.service.reminder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "tasks.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void deliver(Reminder reminder) {
+        log.info("Reminder for user {}: task {} \"{}\" ends on {}",
+                reminder.userId(), reminder.taskId(), reminder.title(), reminder.end());
+    }
+}
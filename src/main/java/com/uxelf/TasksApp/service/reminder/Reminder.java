@@ -0,0 +1,11 @@
+package com.uxelf.TasksApp.service.reminder;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A task whose end date is coming up, due for a notification at {@code dueAt}.
+ */
+public record Reminder(UUID taskId, UUID userId, String title, LocalDate end, Instant dueAt) {
+}
@@ -0,0 +1,237 @@
+package com.uxelf.TasksApp.service.reminder;
+
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends a reminder {@code lead-time} before the day a one-off task ends, unless it's completed
+ * by then. Off unless tasks.reminders.enabled is set.
+ *
+ * Only reminders due within the next {@code window} are held, in a hierarchical timing wheel
+ * with one-second ticks. The window is reloaded every reload-interval with a keyset walk over
+ * idx_tasks_reminder_due; in between TaskService keeps the wheel up to date as tasks are
+ * created, moved or deleted. Other status changes (bulk updates, buffered writes) aren't
+ * tracked: due reminders are checked against the tasks table right before delivery.
+ *
+ * Reminders whose time passed while the application was down are not sent. Every instance
+ * with reminders enabled sends them, so enable them on one instance only.
+ */
+@Service
+public class ReminderScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final int LEVELS = 4;
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    private final TaskRepository taskRepository;
+    private final ReminderSink reminderSink;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration leadTime;
+    private final Duration window;
+    private final int chunkSize;
+    private final HierarchicalTimingWheel<UUID, Reminder> wheel;
+    // A lock rather than a monitor: request threads update the wheel, and a virtual thread
+    // waiting on a contended monitor holds on to its carrier (JDK 21)
+    private final ReentrantLock wheelLock = new ReentrantLock();
+
+    @Autowired
+    public ReminderScheduler(
+            TaskRepository taskRepository,
+            ReminderSink reminderSink,
+            @Value("${tasks.reminders.enabled:false}") boolean enabled,
+            @Value("${tasks.reminders.lead-time:PT24H}") Duration leadTime,
+            @Value("${tasks.reminders.window:PT48H}") Duration window,
+            @Value("${tasks.reminders.chunk-size:1000}") int chunkSize
+    ) {
+        this(taskRepository, reminderSink, Clock.systemDefaultZone(), enabled, leadTime, window, chunkSize);
+    }
+
+    ReminderScheduler(
+            TaskRepository taskRepository,
+            ReminderSink reminderSink,
+            Clock clock,
+            boolean enabled,
+            Duration leadTime,
+            Duration window,
+            int chunkSize
+    ) {
+        this.taskRepository = taskRepository;
+        this.reminderSink = reminderSink;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.leadTime = leadTime;
+        this.window = window;
+        this.chunkSize = chunkSize;
+        this.wheel = new HierarchicalTimingWheel<>(TICK_MILLIS, WHEEL_SIZE, LEVELS, clock.millis());
+        if (window.toMillis() >= wheel.horizonMillis()) {
+            throw new IllegalArgumentException("Reminder window must be shorter than " + Duration.ofMillis(wheel.horizonMillis()));
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${tasks.reminders.initial-delay:PT0S}",
+            fixedDelayString = "${tasks.reminders.reload-interval:PT1H}"
+    )
+    public void loadWindow() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant now = clock.instant();
+        LocalDate lastEnd = LocalDate.ofInstant(now.plus(window).plus(leadTime), zone());
+        LocalDate afterEnd = LocalDate.ofInstant(now, zone()).minusDays(1);
+        UUID afterId = MIN_UUID;
+        int scheduled = 0;
+
+        while (true) {
+            List<Object[]> rows = taskRepository.findReminderCandidates(lastEnd, afterEnd, afterId, PageRequest.ofSize(chunkSize));
+            for (Object[] row : rows) {
+                if (schedule((UUID) row[0], (UUID) row[1], (String) row[2], (LocalDate) row[3], now)) {
+                    scheduled++;
+                }
+            }
+            if (rows.size() < chunkSize) {
+                break;
+            }
+            Object[] last = rows.get(rows.size() - 1);
+            afterId = (UUID) last[0];
+            afterEnd = (LocalDate) last[3];
+        }
+
+        log.debug("Reminder window loaded, {} reminders due within {}", scheduled, window);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.reminders.tick-interval:PT1S}")
+    public void deliverDue() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Reminder> due;
+        wheelLock.lock();
+        try {
+            due = wheel.advance(clock.millis());
+        } finally {
+            wheelLock.unlock();
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // Completed, deleted or moved since they were scheduled: skip them
+        Map<UUID, Object[]> current = new HashMap<>();
+        for (Object[] row : taskRepository.findReminderTargets(due.stream().map(Reminder::taskId).toList())) {
+            current.put((UUID) row[0], row);
+        }
+        for (Reminder reminder : due) {
+            Object[] row = current.get(reminder.taskId());
+            if (row == null || !reminder.end().equals(row[2])) {
+                continue;
+            }
+            try {
+                reminderSink.deliver(new Reminder(reminder.taskId(), reminder.userId(), (String) row[1], reminder.end(), reminder.dueAt()));
+            } catch (RuntimeException e) {
+                log.warn("Delivering the reminder for task {} failed", reminder.taskId(), e);
+            }
+        }
+    }
+
+    // Applied after commit, a rolled back change leaves the wheel alone
+    public void taskChanged(Task task) {
+        if (!enabled) {
+            return;
+        }
+        UUID taskId = task.getId();
+        UUID userId = task.getAuthorId();
+        String title = task.getTitle();
+        LocalDate end = task.getEnd();
+        boolean wanted = task.getStatus() != TaskStatus.COMPLETED && task.getRecurrence() == null;
+
+        afterCommit(() -> {
+            if (!wanted || !schedule(taskId, userId, title, end, clock.instant())) {
+                cancel(taskId);
+            }
+        });
+    }
+
+    public void taskDeleted(UUID taskId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> cancel(taskId));
+    }
+
+    public int scheduledCount() {
+        wheelLock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    // Only reminders due after now and within the window are held; the others are either past
+    // or picked up by a later reload
+    private boolean schedule(UUID taskId, UUID userId, String title, LocalDate end, Instant now) {
+        Instant dueAt = end.atStartOfDay(zone()).toInstant().minus(leadTime);
+        if (!dueAt.isAfter(now) || dueAt.isAfter(now.plus(window))) {
+            return false;
+        }
+        wheelLock.lock();
+        try {
+            return wheel.schedule(taskId, dueAt.toEpochMilli(), new Reminder(taskId, userId, title, end, dueAt));
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private void cancel(UUID taskId) {
+        wheelLock.lock();
+        try {
+            wheel.cancel(taskId);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private ZoneId zone() {
+        return clock.getZone();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.uxelf.TasksApp.service.reminder;
+
+/**
+ * Delivers due reminders and the overdue notices of OverdueTaskProcessor. Picked with
+ * tasks.reminders.sink: "log" (default) and "memory" are built in; any other value leaves it
+ * to a ReminderSink bean of the application.
+ *
+ * Called from scheduler threads, so slow deliveries should hand off to their own executor.
+ */
+public interface ReminderSink {
+
+    void deliver(Reminder reminder);
+}
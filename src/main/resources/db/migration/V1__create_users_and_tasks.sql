@@ -0,0 +1,27 @@
+-- Installations that were running with ddl-auto=update already have these
+-- tables (baselined at version 0), so every statement tolerates them.
+CREATE TABLE IF NOT EXISTS users (
+    id       uuid         NOT NULL,
+    username varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_users_username ON users (username);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          uuid          NOT NULL,
+    title       varchar(255)  NOT NULL,
+    description varchar(5000),
+    status      varchar(255)  NOT NULL,
+    start_time  date          NOT NULL,
+    end_time    date          NOT NULL,
+    author_id   uuid,
+    CONSTRAINT pk_tasks PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_author FOREIGN KEY (author_id) REFERENCES users (id),
+    CONSTRAINT ck_tasks_status CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED'))
+);
+
+-- Every TaskRepository query is scoped by author; start/end let the overlap
+-- queries (findTasksOverlappingDay/Month) filter inside the index.
+CREATE INDEX IF NOT EXISTS idx_tasks_author_start_end ON tasks (author_id, start_time, end_time);
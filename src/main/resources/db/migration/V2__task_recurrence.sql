@@ -0,0 +1,18 @@
+ALTER TABLE tasks
+    ADD COLUMN recurrence     varchar(255),
+    ADD COLUMN recurrence_end date;
+
+-- Series are fetched separately from one-off tasks: author plus the window bounds
+CREATE INDEX idx_tasks_author_series ON tasks (author_id, start_time, recurrence_end)
+    WHERE recurrence IS NOT NULL;
+
+CREATE TABLE task_occurrence_overrides (
+    id              uuid         NOT NULL,
+    task_id         uuid         NOT NULL,
+    occurrence_date date         NOT NULL,
+    status          varchar(255) NOT NULL,
+    CONSTRAINT pk_task_occurrence_overrides PRIMARY KEY (id),
+    CONSTRAINT fk_task_occurrence_overrides_task FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE,
+    CONSTRAINT uk_task_occurrence_overrides UNIQUE (task_id, occurrence_date),
+    CONSTRAINT ck_task_occurrence_overrides_status CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED'))
+);
@@ -0,0 +1,19 @@
+CREATE TABLE tasks_archive (
+    id          uuid          NOT NULL,
+    title       varchar(255)  NOT NULL,
+    description varchar(5000),
+    status      varchar(255)  NOT NULL,
+    start_time  date          NOT NULL,
+    end_time    date          NOT NULL,
+    author_id   uuid          NOT NULL,
+    archived_at timestamptz   NOT NULL,
+    CONSTRAINT pk_tasks_archive PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_archive_author FOREIGN KEY (author_id) REFERENCES users (id)
+);
+
+-- GET /tasks/archive, newest first
+CREATE INDEX idx_tasks_archive_author_end ON tasks_archive (author_id, end_time DESC, id DESC);
+
+-- Keyset walk of TaskArchiver; only holds rows that are candidates for archiving
+CREATE INDEX idx_tasks_archivable ON tasks (end_time, id)
+    WHERE status = 'COMPLETED' AND recurrence IS NULL;
@@ -0,0 +1,41 @@
+-- Per-user counters behind GET /tasks/stats. TaskService keeps them up to date in the
+-- transaction of every task write; TaskStatsReconciler recomputes the date-driven columns
+-- (overdue, due_this_week) when the day changes.
+--
+-- Status counts include archived tasks, which are always COMPLETED, so moving a task to
+-- tasks_archive doesn't change them. Overdue and due_this_week only count one-off tasks that
+-- aren't completed, evaluated as of as_of; the week runs Monday to Sunday.
+CREATE TABLE task_stats (
+    user_id       uuid    NOT NULL,
+    pending       bigint  NOT NULL DEFAULT 0,
+    in_progress   bigint  NOT NULL DEFAULT 0,
+    completed     bigint  NOT NULL DEFAULT 0,
+    overdue       bigint  NOT NULL DEFAULT 0,
+    due_this_week bigint  NOT NULL DEFAULT 0,
+    as_of         date    NOT NULL,
+    CONSTRAINT pk_task_stats PRIMARY KEY (user_id),
+    CONSTRAINT fk_task_stats_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Reconciler walk over the users whose date-driven counts are behind
+CREATE INDEX idx_task_stats_as_of ON task_stats (as_of, user_id);
+
+INSERT INTO task_stats (user_id, pending, in_progress, completed, overdue, due_this_week, as_of)
+SELECT u.id,
+       count(t.id) FILTER (WHERE t.status = 'PENDING'),
+       count(t.id) FILTER (WHERE t.status = 'IN_PROGRESS'),
+       count(t.id) FILTER (WHERE t.status = 'COMPLETED'),
+       count(t.id) FILTER (WHERE t.status <> 'COMPLETED' AND t.recurrence IS NULL
+                             AND t.end_time < CURRENT_DATE),
+       count(t.id) FILTER (WHERE t.status <> 'COMPLETED' AND t.recurrence IS NULL
+                             AND t.end_time >= CURRENT_DATE
+                             AND t.end_time <= date_trunc('week', CURRENT_DATE)::date + 6),
+       CURRENT_DATE
+FROM users u
+LEFT JOIN (
+    SELECT id, author_id, status, end_time, recurrence FROM tasks
+    UNION ALL
+    SELECT id, author_id, status, end_time, NULL FROM tasks_archive
+) t ON t.author_id = u.id
+GROUP BY u.id
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,16 @@
+-- Responses of mutations sent with an Idempotency-Key header, used when
+-- tasks.idempotency.store=database so that retries hitting another node are replayed too.
+-- A row is written before the mutation runs (completed = false) and gets the response once it
+-- succeeds; rows are purged once expires_at has passed.
+CREATE TABLE idempotency_keys (
+    user_id         uuid          NOT NULL,
+    idempotency_key varchar(255)  NOT NULL,
+    fingerprint     varchar(64)   NOT NULL,
+    completed       boolean       NOT NULL,
+    response        text,
+    expires_at      timestamptz   NOT NULL,
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (user_id, idempotency_key),
+    CONSTRAINT fk_idempotency_keys_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
@@ -0,0 +1,4 @@
+-- Keyset walk of ReminderScheduler over the tasks ending in the next reminder window; only
+-- holds the rows that can still get a reminder
+CREATE INDEX idx_tasks_reminder_due ON tasks (end_time, id)
+    WHERE status <> 'COMPLETED' AND recurrence IS NULL;
@@ -0,0 +1,18 @@
+-- OverdueTaskProcessor walks overdue one-off tasks over idx_tasks_reminder_due (V6), whose
+-- predicate already keeps only the tasks that aren't completed. Tasks it flags get the first
+-- day they were overdue; the flag is cleared once the task is completed or its end moves to
+-- today or later.
+ALTER TABLE tasks ADD COLUMN overdue_since date;
+
+-- Clearing pass over the flagged tasks only
+CREATE INDEX idx_tasks_overdue_flagged ON tasks (id) WHERE overdue_since IS NOT NULL;
+
+-- Progress of keyset-walking background jobs, so a restarted job resumes after the last chunk
+-- it committed
+CREATE TABLE job_checkpoints (
+    job_name   varchar(64)  NOT NULL,
+    after_end  date         NOT NULL,
+    after_id   uuid         NOT NULL,
+    updated_at timestamptz  NOT NULL,
+    CONSTRAINT pk_job_checkpoints PRIMARY KEY (job_name)
+);
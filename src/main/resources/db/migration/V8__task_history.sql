@@ -0,0 +1,27 @@
+-- Field-level history of the changes made through TaskService, written in batches by
+-- TaskHistoryRecorder. There is no foreign key to tasks: the history outlives the task.
+-- changes holds a JSON array of {field, from, to}.
+CREATE TABLE task_history (
+    id          bigint        GENERATED ALWAYS AS IDENTITY,
+    task_id     uuid          NOT NULL,
+    author_id   uuid          NOT NULL,
+    change_type varchar(16)   NOT NULL,
+    changes     text          NOT NULL,
+    changed_at  timestamptz   NOT NULL,
+    CONSTRAINT pk_task_history PRIMARY KEY (id)
+);
+
+-- Pages of one task's history, newest first
+CREATE INDEX idx_task_history_task ON task_history (task_id, id);
+
+-- Append-only: rows can be inserted, never changed or removed
+CREATE FUNCTION task_history_append_only() RETURNS trigger
+LANGUAGE plpgsql AS $$
+BEGIN
+    RAISE EXCEPTION 'task_history is append-only';
+END
+$$;
+
+CREATE TRIGGER trg_task_history_append_only
+    BEFORE UPDATE OR DELETE ON task_history
+    FOR EACH STATEMENT EXECUTE FUNCTION task_history_append_only();
@@ -0,0 +1,25 @@
+-- Deleted tasks are kept as tombstones (deleted_at set) until DeletedTaskPurger removes them
+-- once the restore window has passed. Every query on live tasks filters on deleted_at IS NULL.
+ALTER TABLE tasks ADD COLUMN deleted_at timestamptz;
+
+-- The indexes of the live reads only hold live rows, so tombstones neither bloat them nor get
+-- churned when they're purged
+DROP INDEX IF EXISTS idx_tasks_author_start_end;
+CREATE INDEX idx_tasks_author_start_end ON tasks (author_id, start_time, end_time)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_tasks_author_series;
+CREATE INDEX idx_tasks_author_series ON tasks (author_id, start_time, recurrence_end)
+    WHERE recurrence IS NOT NULL AND deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_tasks_archivable;
+CREATE INDEX idx_tasks_archivable ON tasks (end_time, id)
+    WHERE status = 'COMPLETED' AND recurrence IS NULL AND deleted_at IS NULL;
+
+DROP INDEX IF EXISTS idx_tasks_reminder_due;
+CREATE INDEX idx_tasks_reminder_due ON tasks (end_time, id)
+    WHERE status <> 'COMPLETED' AND recurrence IS NULL AND deleted_at IS NULL;
+
+-- Purge pass, oldest tombstones first; holds nothing but tombstones
+CREATE INDEX idx_tasks_deleted ON tasks (deleted_at, id)
+    WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,71 @@
+-- Optional: converts tasks into a hash partitioned table on author_id.
+--
+-- Every TaskRepository query and every UPDATE/DELETE Hibernate issues for Task
+-- filters on author_id (see @PartitionKey on Task.authorId), so each statement
+-- only touches one partition and per-user latency doesn't grow with the table.
+--
+-- Enable it by adding this location to Flyway:
+--   FLYWAY_LOCATIONS=classpath:db/migration,classpath:db/partitioning
+-- It is versioned right after V9 and rebuilds tasks as V1-V9 left it: every
+-- column, check, foreign key and partial index. Migrations after it alter the
+-- partitioned table like the plain one. The copy below rewrites the whole
+-- table, so run it in a maintenance window on large installations.
+
+ALTER TABLE tasks RENAME TO tasks_unpartitioned;
+
+CREATE TABLE tasks (
+    id             uuid          NOT NULL,
+    title          varchar(255)  NOT NULL,
+    description    varchar(5000),
+    status         varchar(255)  NOT NULL,
+    start_time     date          NOT NULL,
+    end_time       date          NOT NULL,
+    author_id      uuid          NOT NULL,
+    recurrence     varchar(255),
+    recurrence_end date,
+    overdue_since  date,
+    deleted_at     timestamptz,
+    -- A primary key on a partitioned table has to contain the partition key
+    CONSTRAINT pk_tasks_by_author PRIMARY KEY (author_id, id),
+    CONSTRAINT fk_tasks_by_author_author FOREIGN KEY (author_id) REFERENCES users (id),
+    CONSTRAINT ck_tasks_by_author_status CHECK (status IN ('PENDING', 'IN_PROGRESS', 'COMPLETED'))
+) PARTITION BY HASH (author_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE tasks_p%s PARTITION OF tasks FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+            remainder, remainder
+        );
+    END LOOP;
+END
+$$;
+
+INSERT INTO tasks (id, title, description, status, start_time, end_time, author_id, recurrence, recurrence_end,
+                   overdue_since, deleted_at)
+SELECT id, title, description, status, start_time, end_time, author_id, recurrence, recurrence_end,
+       overdue_since, deleted_at
+FROM tasks_unpartitioned;
+
+-- Foreign keys can't point at tasks(id) anymore; TaskService and DeletedTaskPurger remove
+-- overrides themselves
+ALTER TABLE task_occurrence_overrides DROP CONSTRAINT IF EXISTS fk_task_occurrence_overrides_task;
+
+DROP TABLE tasks_unpartitioned;
+
+-- Indexes on the parent are created as local indexes on every partition, with the same
+-- predicates as V3, V6, V7 and V9
+CREATE INDEX idx_tasks_author_start_end ON tasks (author_id, start_time, end_time)
+    WHERE deleted_at IS NULL;
+CREATE INDEX idx_tasks_author_series ON tasks (author_id, start_time, recurrence_end)
+    WHERE recurrence IS NOT NULL AND deleted_at IS NULL;
+CREATE INDEX idx_tasks_archivable ON tasks (end_time, id)
+    WHERE status = 'COMPLETED' AND recurrence IS NULL AND deleted_at IS NULL;
+CREATE INDEX idx_tasks_reminder_due ON tasks (end_time, id)
+    WHERE status <> 'COMPLETED' AND recurrence IS NULL AND deleted_at IS NULL;
+CREATE INDEX idx_tasks_overdue_flagged ON tasks (id) WHERE overdue_since IS NOT NULL;
+CREATE INDEX idx_tasks_deleted ON tasks (deleted_at, id)
+    WHERE deleted_at IS NOT NULL;
+-- Only used by id-only lookups (telling "not found" from "not yours")
+CREATE INDEX idx_tasks_id ON tasks (id);
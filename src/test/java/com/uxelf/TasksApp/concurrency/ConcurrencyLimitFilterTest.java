@@ -0,0 +1,194 @@
+package com.uxelf.TasksApp.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter - adaptive load shedding")
+class ConcurrencyLimitFilterTest {
+
+    private static final long MILLIS = 1_000_000;
+    private static final String ORIGIN = "https://tasks.example";
+
+    // One completed request that saw inFlightAtStart requests in flight, itself included
+    private static void sample(GradientLimit limit, long rttNanos, int inFlightAtStart) {
+        assertTrue(limit.tryAcquire() > 0);
+        limit.release(rttNanos, inFlightAtStart);
+    }
+
+    @Nested
+    @DisplayName("Gradient limit")
+    class Limit {
+
+        @Test
+        @DisplayName("Should grow while latency holds and shrink once it climbs")
+        void shouldFollowLatency() {
+            // Given
+            GradientLimit limit = new GradientLimit(100, 4, 1000, 1.5);
+
+            // When
+            for (int i = 0; i < 50; i++) {
+                sample(limit, 10 * MILLIS, limit.limit());
+            }
+            int grown = limit.limit();
+            for (int i = 0; i < 50; i++) {
+                sample(limit, 100 * MILLIS, limit.limit());
+            }
+
+            // Then
+            assertTrue(grown > 100, "limit was " + grown);
+            assertTrue(limit.limit() < grown / 2, "limit was " + limit.limit());
+            assertTrue(limit.limit() >= 4);
+            assertEquals(0, limit.inFlight());
+        }
+
+        @Test
+        @DisplayName("Should not grow while most of the limit goes unused")
+        void shouldNotGrowWhenUnused() {
+            // Given
+            GradientLimit limit = new GradientLimit(100, 4, 1000, 1.5);
+
+            // When
+            for (int i = 0; i < 50; i++) {
+                sample(limit, 10 * MILLIS, 1);
+            }
+
+            // Then
+            assertEquals(100, limit.limit());
+            assertEquals(0, limit.inFlight());
+        }
+
+        @Test
+        @DisplayName("Should refuse requests beyond the limit until one completes")
+        void shouldRefuseBeyondLimit() {
+            // Given
+            GradientLimit limit = new GradientLimit(2, 1, 10, 1.5);
+
+            // When / Then
+            assertEquals(1, limit.tryAcquire());
+            assertEquals(2, limit.tryAcquire());
+            assertEquals(-1, limit.tryAcquire());
+            limit.release(0, 2);
+            assertEquals(2, limit.tryAcquire());
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter")
+    class Filter {
+
+        private SimpleMeterRegistry meterRegistry;
+        private ConcurrencyLimitFilter filter;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            CorsConfiguration cors = new CorsConfiguration();
+            cors.setAllowedOrigins(List.of(ORIGIN));
+            cors.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+            cors.setAllowCredentials(true);
+            UrlBasedCorsConfigurationSource corsSource = new UrlBasedCorsConfigurationSource();
+            corsSource.registerCorsConfiguration("/**", cors);
+            filter = new ConcurrencyLimitFilter(meterRegistry, corsSource, true, 1, 1.5, Duration.ofSeconds(2),
+                    10, 10, 10, 10, 1, 1);
+        }
+
+        @Test
+        @DisplayName("Should answer 503 with Retry-After once the budget is used up")
+        void shouldRejectOverLimit() throws Exception {
+            // Given
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            AtomicInteger inFlight = new AtomicInteger();
+
+            // When
+            filter.doFilter(new MockHttpServletRequest("POST", "/auth/login"), new MockHttpServletResponse(),
+                    (req, res) -> {
+                        inFlight.set((int) meterRegistry.get("tasks.limit.in-flight").tag("traffic", "auth")
+                                .gauge().value());
+                        filter.doFilter(new MockHttpServletRequest("POST", "/auth/login"), rejected,
+                                (innerReq, innerRes) -> fail("the second login should have been rejected"));
+                    });
+
+            // Then
+            assertEquals(1, inFlight.get());
+            assertEquals(503, rejected.getStatus());
+            assertEquals("2", rejected.getHeader("Retry-After"));
+            assertEquals(1, meterRegistry.get("tasks.limit.rejected").tag("traffic", "auth").counter().count());
+            assertEquals(0, meterRegistry.get("tasks.limit.in-flight").tag("traffic", "auth").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should let the cross-origin frontend read a rejection and its Retry-After")
+        void shouldApplyCorsToRejections() throws Exception {
+            // Given
+            MockHttpServletRequest second = new MockHttpServletRequest("POST", "/auth/login");
+            second.addHeader("Origin", ORIGIN);
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+
+            // When
+            filter.doFilter(new MockHttpServletRequest("POST", "/auth/login"), new MockHttpServletResponse(),
+                    (req, res) -> filter.doFilter(second, rejected,
+                            (innerReq, innerRes) -> fail("the second login should have been rejected")));
+
+            // Then
+            assertEquals(503, rejected.getStatus());
+            assertEquals(ORIGIN, rejected.getHeader("Access-Control-Allow-Origin"));
+            assertEquals("true", rejected.getHeader("Access-Control-Allow-Credentials"));
+            assertEquals("Retry-After", rejected.getHeader("Access-Control-Expose-Headers"));
+        }
+
+        @Test
+        @DisplayName("Should keep the budgets of read, write and auth traffic apart")
+        void shouldSeparateBudgets() throws Exception {
+            // Given
+            MockHttpServletResponse read = new MockHttpServletResponse();
+            MockHttpServletResponse write = new MockHttpServletResponse();
+            AtomicInteger passed = new AtomicInteger();
+
+            // When
+            filter.doFilter(new MockHttpServletRequest("POST", "/auth/login"), new MockHttpServletResponse(),
+                    (req, res) -> {
+                        filter.doFilter(new MockHttpServletRequest("GET", "/tasks/month"), read,
+                                (innerReq, innerRes) -> passed.incrementAndGet());
+                        filter.doFilter(new MockHttpServletRequest("PUT", "/tasks/42"), write,
+                                (innerReq, innerRes) -> passed.incrementAndGet());
+                    });
+
+            // Then
+            assertEquals(2, passed.get());
+            assertEquals(200, read.getStatus());
+            assertEquals(200, write.getStatus());
+        }
+
+        @Test
+        @DisplayName("Should leave requests outside the controllers alone")
+        void shouldNotLimitOtherPaths() throws Exception {
+            // Given
+            AtomicInteger passed = new AtomicInteger();
+
+            // When
+            filter.doFilter(new MockHttpServletRequest("POST", "/auth/login"), new MockHttpServletResponse(),
+                    (req, res) -> {
+                        filter.doFilter(new MockHttpServletRequest("OPTIONS", "/auth/login"),
+                                new MockHttpServletResponse(), (innerReq, innerRes) -> passed.incrementAndGet());
+                        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"),
+                                new MockHttpServletResponse(), (innerReq, innerRes) -> passed.incrementAndGet());
+                    });
+
+            // Then
+            assertEquals(2, passed.get());
+        }
+    }
+}
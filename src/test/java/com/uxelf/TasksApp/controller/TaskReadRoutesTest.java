@@ -0,0 +1,96 @@
+package com.uxelf.TasksApp.controller;
+
+import com.uxelf.TasksApp.dto.tasks.TaskResponse;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.exception.BusinessException;
+import com.uxelf.TasksApp.security.UserPrincipal;
+import com.uxelf.TasksApp.service.ReactiveTaskReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskReadRoutes - reactive task reads")
+class TaskReadRoutesTest {
+
+    @Mock
+    private ReactiveTaskReader reactiveTaskReader;
+
+    private WebTestClient client;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(userId, "user"), null, List.of());
+        client = WebTestClient
+                .bindToRouterFunction(new TaskReadRoutes(reactiveTaskReader).taskReadRouter())
+                .webFilter((exchange, chain) -> chain.filter(exchange.mutate().principal(Mono.just(auth)).build()))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return the day's tasks of the authenticated user")
+    void shouldReturnDayTasks() {
+        // Given
+        LocalDate date = LocalDate.of(2030, 1, 15);
+        TaskResponse task = new TaskResponse(UUID.randomUUID(), "Task", null, TaskStatus.PENDING,
+                date, date, false, null, null);
+        when(reactiveTaskReader.getTasksForDay(userId, date)).thenReturn(Mono.just(List.of(task)));
+
+        // When / Then
+        client.get().uri("/tasks/day?date=2030-01-15").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].title").isEqualTo("Task");
+    }
+
+    @Test
+    @DisplayName("Should answer 400 when the date is missing or malformed")
+    void shouldRejectBadDate() {
+        // When / Then
+        client.get().uri("/tasks/month").exchange()
+                .expectStatus().isBadRequest();
+        client.get().uri("/tasks/month?date=january").exchange()
+                .expectStatus().isBadRequest();
+        verifyNoInteractions(reactiveTaskReader);
+    }
+
+    @Test
+    @DisplayName("Should map a BusinessException to 400 with the error message")
+    void shouldMapBusinessException() {
+        // Given
+        UUID taskId = UUID.randomUUID();
+        when(reactiveTaskReader.getTaskById(taskId, userId)).thenReturn(Mono.error(new BusinessException("Task not found")));
+
+        // When / Then
+        client.get().uri("/tasks/" + taskId).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Task not found");
+    }
+
+    @Test
+    @DisplayName("Should leave paths that aren't task ids to TaskController")
+    void shouldNotRouteNonIdPaths() {
+        // When / Then
+        client.get().uri("/tasks/status").exchange()
+                .expectStatus().isNotFound();
+        verifyNoInteractions(reactiveTaskReader);
+    }
+}
@@ -0,0 +1,173 @@
+package com.uxelf.TasksApp.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("jvm-only")
+@DisplayName("RequestPhaseFilter - JFR request events and Server-Timing")
+class RequestPhaseFilterTest {
+
+    private final RequestPhaseFilter filter = new RequestPhaseFilter(false);
+
+    private static void busy(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Nested
+    @DisplayName("Recording")
+    class WhileRecording {
+
+        @Test
+        @DisplayName("Should emit one event with the endpoint, user hash and phase durations")
+        void shouldEmitRequestEvent(@TempDir Path dir) throws Exception {
+            // Given
+            UUID userId = UUID.randomUUID();
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks/42");
+            FilterChain chain = (req, res) -> {
+                RequestPhases.user(userId);
+                long startedAt = RequestPhases.start();
+                busy(Duration.ofMillis(5));
+                RequestPhases.end(RequestPhase.DATABASE, startedAt);
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/tasks/{id}");
+                RequestPhases.serializationStarted();
+                busy(Duration.ofMillis(2));
+            };
+            Path file = dir.resolve("requests.jfr");
+
+            // When
+            try (Recording recording = new Recording()) {
+                recording.enable(TaskRequestEvent.class);
+                recording.start();
+                filter.doFilter(request, new MockHttpServletResponse(), chain);
+                recording.stop();
+                recording.dump(file);
+            }
+
+            // Then
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("com.uxelf.tasks.Request"))
+                    .toList();
+            assertEquals(1, events.size());
+            RecordedEvent event = events.get(0);
+            assertEquals("GET", event.getString("method"));
+            assertEquals("/tasks/{id}", event.getString("endpoint"));
+            assertEquals(200, event.getInt("status"));
+            assertEquals(userId.hashCode(), event.getInt("userIdHash"));
+            assertTrue(event.getDuration("database").compareTo(Duration.ofMillis(5)) >= 0);
+            assertTrue(event.getDuration("serialization").compareTo(Duration.ofMillis(2)) >= 0);
+            assertEquals(Duration.ZERO, event.getDuration("jwt"));
+            assertTrue(event.getDuration().compareTo(Duration.ofMillis(7)) >= 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Not recording")
+    class NotRecording {
+
+        @Test
+        @DisplayName("Should not measure requests while no recording has the event enabled")
+        void shouldNotMeasure() throws Exception {
+            // Given
+            AtomicLong startedAt = new AtomicLong(-1);
+
+            // When
+            filter.doFilter(new MockHttpServletRequest("GET", "/tasks/42"), new MockHttpServletResponse(),
+                    (req, res) -> startedAt.set(RequestPhases.start()));
+
+            // Then
+            assertEquals(0, startedAt.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Server-Timing")
+    class ServerTiming {
+
+        @Test
+        @DisplayName("Should send the phases in a Server-Timing header along with the body")
+        void shouldSendHeader() throws Exception {
+            // Given
+            RequestPhaseFilter serverTimingFilter = new RequestPhaseFilter(true);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = (req, res) -> {
+                RequestPhases.handlerStarted();
+                long startedAt = RequestPhases.start();
+                busy(Duration.ofMillis(3));
+                RequestPhases.end(RequestPhase.DATABASE, startedAt);
+                RequestPhases.serializationStarted();
+                res.getWriter().write("[]");
+            };
+
+            // When
+            serverTimingFilter.doFilter(new MockHttpServletRequest("GET", "/tasks"), response, chain);
+
+            // Then
+            String header = response.getHeader("Server-Timing");
+            assertNotNull(header);
+            assertTrue(header.matches(
+                    "auth;dur=0\\.000;desc=\"JWT and user lookup\", svc;dur=[1-9]\\d*\\.\\d{3};desc=\"Service\", "
+                            + "db;dur=[1-9]\\d*\\.\\d{3};desc=\"Database\", ser;dur=\\d+\\.\\d{3};desc=\"JSON writing\", "
+                            + "total;dur=\\d+\\.\\d{3};desc=\"Total\""), header);
+            assertEquals("[]", response.getContentAsString());
+        }
+
+        @Test
+        @DisplayName("Should count a repository call inside the user lookup only once")
+        void shouldNotCountNestedPhasesTwice() throws Exception {
+            // Given
+            RequestPhaseFilter serverTimingFilter = new RequestPhaseFilter(true);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain chain = (req, res) -> {
+                long lookupStartedAt = RequestPhases.start();
+                long queryStartedAt = RequestPhases.start();
+                busy(Duration.ofMillis(3));
+                RequestPhases.end(RequestPhase.DATABASE, queryStartedAt);
+                RequestPhases.end(RequestPhase.USER_LOOKUP, lookupStartedAt);
+            };
+
+            // When
+            serverTimingFilter.doFilter(new MockHttpServletRequest("GET", "/tasks"), response, chain);
+
+            // Then
+            String header = response.getHeader("Server-Timing");
+            assertTrue(header.matches("auth;dur=[1-9]\\d*\\.\\d{3};.*"), header);
+            assertTrue(header.contains("db;dur=0.000;"), header);
+        }
+
+        @Test
+        @DisplayName("Should not send the header unless enabled")
+        void shouldNotSendHeaderByDefault() throws Exception {
+            // Given
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            filter.doFilter(new MockHttpServletRequest("GET", "/tasks"), response,
+                    (req, res) -> res.getWriter().write("[]"));
+
+            // Then
+            assertNull(response.getHeader("Server-Timing"));
+            assertEquals("[]", response.getContentAsString());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.uxelf.TasksApp.repository;
+
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Every repository call runs in its own transaction, like in the services, so the persistence
+// context can't answer the repeated lookups and only the second-level cache can.
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Second-level cache - User and Task lookups")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        // Task deletes are soft, the tombstones would still reference the users
+        jdbcTemplate.update("DELETE FROM tasks");
+        userRepository.deleteAll();
+
+        user = userRepository.save(new User("cached-user", "password123"));
+        task = taskRepository.save(new Task("Cached task", "Description",
+                LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 2), user));
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Nested
+    @DisplayName("Repeated lookups")
+    class RepeatedLookups {
+
+        @Test
+        @DisplayName("Should serve a repeated user lookup by id from the cache")
+        void shouldServeRepeatedUserLookupFromCache() {
+            // Given
+            userRepository.findById(user.getId());
+            long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+            // When
+            Optional<User> result = userRepository.findById(user.getId());
+
+            // Then
+            assertTrue(result.isPresent());
+            assertEquals("cached-user", result.get().getUsername());
+            assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+            assertEquals(1, statistics.getCacheRegionStatistics("users").getHitCount());
+        }
+
+        @Test
+        @DisplayName("Should serve a repeated task lookup and its author from the cache")
+        void shouldServeRepeatedTaskLookupFromCache() {
+            // Given
+            taskRepository.findById(task.getId());
+            long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+            // When
+            Optional<Task> result = taskRepository.findById(task.getId());
+
+            // Then
+            assertTrue(result.isPresent());
+            assertEquals(user.getId(), result.get().getAuthor().getId());
+            assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+            assertTrue(statistics.getCacheRegionStatistics("tasks").getHitCount() > 0);
+        }
+
+        @Test
+        @DisplayName("Should serve a repeated owned task lookup from the query cache")
+        void shouldServeRepeatedOwnedTaskLookupFromQueryCache() {
+            // Given
+            taskRepository.findByIdAndAuthorId(task.getId(), user.getId());
+            long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+            // When
+            Optional<Task> result = taskRepository.findByIdAndAuthorId(task.getId(), user.getId());
+
+            // Then
+            assertTrue(result.isPresent());
+            assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+            assertEquals(1, statistics.getQueryCacheHitCount());
+        }
+
+        @Test
+        @DisplayName("Should serve a repeated username lookup from the query cache")
+        void shouldServeRepeatedUsernameLookupFromQueryCache() {
+            // Given
+            userRepository.findByUsername("cached-user");
+            long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+            // When
+            Optional<User> result = userRepository.findByUsername("cached-user");
+
+            // Then
+            assertTrue(result.isPresent());
+            assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation")
+    class Invalidation {
+
+        @Test
+        @DisplayName("Should return the updated task after save")
+        void shouldReturnUpdatedTaskAfterSave() {
+            // Given
+            Task cached = taskRepository.findById(task.getId()).orElseThrow();
+            cached.setTitle("Renamed task");
+
+            // When
+            taskRepository.save(cached);
+            Optional<Task> result = taskRepository.findById(task.getId());
+
+            // Then
+            assertTrue(result.isPresent());
+            assertEquals("Renamed task", result.get().getTitle());
+        }
+
+        @Test
+        @DisplayName("Should invalidate the owned task query after save")
+        void shouldInvalidateOwnedTaskQueryAfterSave() {
+            // Given
+            taskRepository.findByIdAndAuthorId(task.getId(), user.getId());
+            Task cached = taskRepository.findById(task.getId()).orElseThrow();
+            cached.setTitle("Renamed task");
+
+            // When
+            taskRepository.save(cached);
+            Optional<Task> result = taskRepository.findByIdAndAuthorId(task.getId(), user.getId());
+
+            // Then
+            assertTrue(result.isPresent());
+            assertEquals("Renamed task", result.get().getTitle());
+            assertEquals(0, statistics.getQueryCacheHitCount());
+        }
+
+        @Test
+        @DisplayName("Should not return a task after it's deleted")
+        void shouldNotReturnTaskAfterDelete() {
+            // Given
+            taskRepository.findById(task.getId());
+            taskRepository.findByIdAndAuthorId(task.getId(), user.getId());
+
+            // When
+            taskRepository.deleteById(task.getId());
+
+            // Then
+            assertTrue(taskRepository.findById(task.getId()).isEmpty());
+            assertTrue(taskRepository.findByIdAndAuthorId(task.getId(), user.getId()).isEmpty());
+        }
+    }
+}
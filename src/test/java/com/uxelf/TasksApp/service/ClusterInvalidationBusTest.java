@@ -0,0 +1,156 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClusterInvalidationBus - cross-node cache invalidation")
+class ClusterInvalidationBusTest {
+
+    private static final String CHANNEL = "tasks_invalidation";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    private ClusterInvalidationBus bus;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        bus = new ClusterInvalidationBus(jdbcTemplate, entityManagerFactory,
+                new ReadCoalescer(new SimpleMeterRegistry()), true, CHANNEL);
+        userId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Publishing")
+    class Publishing {
+
+        @Test
+        @DisplayName("Should merge the changes of one user into one line")
+        void shouldCoalescePerUser() {
+            // Given
+            UUID firstTask = UUID.randomUUID();
+            UUID secondTask = UUID.randomUUID();
+            bus.taskChanged(userId, firstTask);
+            bus.taskChanged(userId, secondTask);
+
+            // When
+            bus.publishPending();
+
+            // Then
+            ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+            verify(jdbcTemplate).queryForList(eq("SELECT pg_notify(?, ?)"), eq(CHANNEL), payload.capture());
+            String[] lines = payload.getValue().split("\n");
+            assertEquals(2, lines.length);
+            assertTrue(lines[0].endsWith(":1"));
+            assertTrue(lines[1].startsWith(userId + "/"));
+            assertTrue(lines[1].contains(firstTask.toString()) && lines[1].contains(secondTask.toString()));
+        }
+
+        @Test
+        @DisplayName("Should send nothing when disabled")
+        void shouldStayQuietWhenDisabled() {
+            // Given
+            bus = new ClusterInvalidationBus(jdbcTemplate, entityManagerFactory,
+                    new ReadCoalescer(new SimpleMeterRegistry()), false, CHANNEL);
+            bus.userChanged(userId);
+
+            // When
+            bus.publishPending();
+
+            // Then
+            verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        @DisplayName("Should keep the changes when NOTIFY fails")
+        void shouldRetryFailedPublish() {
+            // Given
+            bus.userChanged(userId);
+            when(jdbcTemplate.queryForList(eq("SELECT pg_notify(?, ?)"), eq(CHANNEL), anyString()))
+                    .thenThrow(new IllegalStateException("connection refused"))
+                    .thenReturn(List.of());
+
+            // When
+            bus.publishPending();
+            bus.publishPending();
+
+            // Then
+            verify(jdbcTemplate, times(2)).queryForList(eq("SELECT pg_notify(?, ?)"), eq(CHANNEL), anyString());
+        }
+    }
+
+    @Nested
+    @DisplayName("Receiving")
+    class Receiving {
+
+        @BeforeEach
+        void setUpCache() {
+            when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+            when(sessionFactory.getCache()).thenReturn(cache);
+        }
+
+        @Test
+        @DisplayName("Should evict the listed tasks and the user")
+        void shouldEvictChangedEntries() {
+            // Given
+            UUID taskId = UUID.randomUUID();
+
+            // When
+            bus.receive("other-node:1\n" + userId + "/" + taskId);
+
+            // Then
+            verify(cache).evictEntityData(Task.class, taskId);
+            verify(cache).evictEntityData(User.class, userId);
+            verify(cache).evictDefaultQueryRegion();
+            verify(cache, never()).evictAllRegions();
+        }
+
+        @Test
+        @DisplayName("Should flush everything after a gap in the sequence numbers")
+        void shouldFlushAfterGap() {
+            // Given
+            bus.receive("other-node:1\n" + userId + "/*");
+
+            // When
+            bus.receive("other-node:3\n" + userId + "/*");
+
+            // Then
+            verify(cache).evictAllRegions();
+        }
+    }
+}
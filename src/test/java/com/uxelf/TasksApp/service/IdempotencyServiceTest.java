@@ -0,0 +1,156 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.exception.IdempotencyKeyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyService - Idempotency-Key handling")
+class IdempotencyServiceTest {
+
+    private IdempotencyService idempotencyService;
+    private AtomicInteger executions;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(new InMemoryIdempotencyStore(Duration.ofHours(1), 100),
+                JsonMapper.builder().build());
+        executions = new AtomicInteger();
+        userId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Replays")
+    class Replays {
+
+        @Test
+        @DisplayName("Should return the stored response without running the action again")
+        void shouldReplayCompletedRequest() {
+            // When
+            String first = execute("key-1", "title", () -> "created-" + executions.incrementAndGet());
+            String second = execute("key-1", "title", () -> "created-" + executions.incrementAndGet());
+
+            // Then
+            assertEquals("created-1", first);
+            assertEquals("created-1", second);
+            assertEquals(1, executions.get());
+        }
+
+        @Test
+        @DisplayName("Should run every request without a key")
+        void shouldRunRequestsWithoutKey() {
+            // When
+            execute(null, "title", executions::incrementAndGet);
+            execute(null, "title", executions::incrementAndGet);
+
+            // Then
+            assertEquals(2, executions.get());
+        }
+
+        @Test
+        @DisplayName("Should recognise the same request body whatever its map order")
+        void shouldReplaySameBodyInAnyOrder() {
+            // Given
+            Map<String, Object> first = new LinkedHashMap<>();
+            first.put("title", "title");
+            first.put("start", LocalDate.of(2026, 1, 1));
+            Map<String, Object> second = new LinkedHashMap<>();
+            second.put("start", LocalDate.of(2026, 1, 1));
+            second.put("title", "title");
+
+            // When
+            idempotencyService.execute(userId, "key-1", "createTask", List.of(first), Object.class,
+                    executions::incrementAndGet);
+            idempotencyService.execute(userId, "key-1", "createTask", List.of(second), Object.class,
+                    executions::incrementAndGet);
+
+            // Then
+            assertEquals(1, executions.get());
+        }
+
+        @Test
+        @DisplayName("Should keep the keys of different users apart")
+        void shouldScopeKeysPerUser() {
+            // When
+            execute("key-1", "title", executions::incrementAndGet);
+            idempotencyService.execute(UUID.randomUUID(), "key-1", "createTask", List.of("title"),
+                    Object.class, executions::incrementAndGet);
+
+            // Then
+            assertEquals(2, executions.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rejections")
+    class Rejections {
+
+        @Test
+        @DisplayName("Should reject a key reused for a different request")
+        void shouldRejectDifferentRequest() {
+            // Given
+            execute("key-1", "title", () -> "created");
+
+            // When & Then
+            IdempotencyKeyException exception = assertThrows(
+                    IdempotencyKeyException.class,
+                    () -> execute("key-1", "other title", () -> "created")
+            );
+            assertEquals(HttpStatus.UNPROCESSABLE_CONTENT, exception.getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject a retry while the first request is still running")
+        void shouldRejectRequestInProgress() {
+            // When & Then
+            IdempotencyKeyException exception = assertThrows(
+                    IdempotencyKeyException.class,
+                    () -> execute("key-1", "title", () -> execute("key-1", "title", () -> "created"))
+            );
+            assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        }
+
+        @Test
+        @DisplayName("Should free the key when the request fails")
+        void shouldReleaseKeyOnFailure() {
+            // Given
+            assertThrows(IllegalArgumentException.class, () -> execute("key-1", "title", () -> {
+                throw new IllegalArgumentException("End date must be in the future");
+            }));
+
+            // When
+            String response = execute("key-1", "title", () -> "created");
+
+            // Then
+            assertEquals("created", response);
+        }
+
+        @Test
+        @DisplayName("Should reject a key longer than 255 characters")
+        void shouldRejectLongKey() {
+            // When & Then
+            assertThrows(IllegalArgumentException.class, () -> execute("k".repeat(256), "title", () -> "created"));
+        }
+    }
+
+    private <T> T execute(String key, String title, Supplier<T> action) {
+        @SuppressWarnings("unchecked")
+        Class<T> type = (Class<T>) Object.class;
+        return idempotencyService.execute(userId, key, "createTask", List.of(title), type, action);
+    }
+}
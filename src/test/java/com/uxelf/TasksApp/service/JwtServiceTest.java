@@ -0,0 +1,55 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Uses no mocks, so it also runs in the native test image, where it covers the jjwt classes
+// and ServiceLoader files that NativeRuntimeHints registers
+@DisplayName("JwtService - token round trip")
+class JwtServiceTest {
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        user = new User(UUID.randomUUID(), "testuser", "password123");
+    }
+
+    @Test
+    @DisplayName("Should read back the id and username it signed")
+    void shouldValidateGeneratedToken() {
+        // Given
+        String token = jwtService.generateToken(user);
+
+        // When
+        Claims claims = jwtService.validateToken(token);
+
+        // Then
+        assertEquals(user.getId().toString(), claims.get("id", String.class));
+        assertEquals("testuser", claims.get("username", String.class));
+        assertEquals("testuser", claims.getSubject());
+        assertTrue(claims.getExpiration().getTime() > System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose payload was changed")
+    void shouldRejectTamperedToken() {
+        // Given
+        String[] parts = jwtService.generateToken(user).split("\\.");
+        String forged = jwtService.generateToken(new User(UUID.randomUUID(), "other", "password123"));
+        String tampered = parts[0] + "." + forged.split("\\.")[1] + "." + parts[2];
+
+        // When & Then
+        assertThrows(JwtException.class, () -> jwtService.validateToken(tampered));
+    }
+}
@@ -0,0 +1,135 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.JobCheckpoint;
+import com.uxelf.TasksApp.repository.JobCheckpointRepository;
+import com.uxelf.TasksApp.repository.TaskRepository;
+import com.uxelf.TasksApp.service.reminder.InMemoryReminderSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OverdueTaskProcessor - chunked overdue processing")
+class OverdueTaskProcessorTest {
+
+    private static final String JOB = OverdueTaskProcessor.JOB_NAME;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private JobCheckpointRepository jobCheckpointRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryReminderSink sink;
+    private UUID taskId;
+    private UUID userId;
+    private LocalDate end;
+
+    @BeforeEach
+    void setUp() {
+        sink = new InMemoryReminderSink();
+        taskId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        end = LocalDate.now().minusDays(1);
+    }
+
+    private OverdueTaskProcessor processor(String action) {
+        return new OverdueTaskProcessor(taskRepository, jobCheckpointRepository, sink, transactionManager,
+                true, action, 2, 10, 7);
+    }
+
+    @Test
+    @DisplayName("Should flag a chunk and move the checkpoint past its last task")
+    void shouldFlagAndCheckpoint() {
+        // Given
+        when(jobCheckpointRepository.tryLock(JOB)).thenReturn(true);
+        when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.empty());
+        when(taskRepository.findOverdueAfter(any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{taskId, userId, "Report", end}));
+        when(taskRepository.clearResolvedOverdue(any(), anyInt())).thenReturn(List.of());
+
+        // When
+        processor("flag").processOverdueTasks();
+
+        // Then
+        verify(taskRepository).flagOverdue(Set.of(taskId), Set.of(userId));
+        ArgumentCaptor<JobCheckpoint> checkpoint = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(jobCheckpointRepository).save(checkpoint.capture());
+        assertEquals(end, checkpoint.getValue().getAfterEnd());
+        assertEquals(taskId, checkpoint.getValue().getAfterId());
+        assertTrue(sink.getDelivered().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should resume after the stored checkpoint")
+    void shouldResumeFromCheckpoint() {
+        // Given
+        UUID lastId = UUID.randomUUID();
+        LocalDate lastEnd = LocalDate.now().minusDays(3);
+        when(jobCheckpointRepository.tryLock(JOB)).thenReturn(true);
+        when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.of(new JobCheckpoint(JOB, lastEnd, lastId)));
+        when(taskRepository.findOverdueAfter(any(), any(), any(), any())).thenReturn(List.of());
+
+        // When
+        processor("notify").processOverdueTasks();
+
+        // Then
+        verify(taskRepository).findOverdueAfter(eq(LocalDate.now()), eq(lastEnd), eq(lastId), any());
+        verify(jobCheckpointRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should notify without flagging when the action is notify")
+    void shouldNotify() {
+        // Given
+        when(jobCheckpointRepository.tryLock(JOB)).thenReturn(true);
+        when(jobCheckpointRepository.findById(JOB)).thenReturn(Optional.empty());
+        when(taskRepository.findOverdueAfter(any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{taskId, userId, "Report", end}));
+
+        // When
+        processor("notify").processOverdueTasks();
+
+        // Then
+        assertEquals(1, sink.getDelivered().size());
+        assertEquals(taskId, sink.getDelivered().get(0).taskId());
+        verify(taskRepository, never()).flagOverdue(any(), any());
+        verify(taskRepository, never()).clearResolvedOverdue(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should leave the run to the node holding the lock")
+    void shouldSkipWhenLocked() {
+        // Given
+        when(jobCheckpointRepository.tryLock(JOB)).thenReturn(false);
+
+        // When
+        processor("escalate").processOverdueTasks();
+
+        // Then
+        verify(taskRepository, never()).findOverdueAfter(any(), any(), any(), any());
+        verify(jobCheckpointRepository, never()).save(any());
+    }
+}
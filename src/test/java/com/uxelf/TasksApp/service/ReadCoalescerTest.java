@@ -0,0 +1,188 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.exception.BusinessException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReadCoalescer - single-flight reads")
+class ReadCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadCoalescer readCoalescer;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readCoalescer = new ReadCoalescer(meterRegistry);
+        userId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Concurrent identical reads")
+    class ConcurrentReads {
+
+        @Test
+        @DisplayName("Should run the loader once and share its result")
+        void shouldShareOneExecution() throws Exception {
+            // Given
+            AtomicInteger executions = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            List<String> result = List.of("task");
+
+            // When
+            List<Future<List<String>>> calls = callConcurrently(() ->
+                    readCoalescer.execute(userId, "getTasksByUser", List.of(), () -> {
+                        executions.incrementAndGet();
+                        await(release);
+                        return result;
+                    }), release);
+
+            // Then
+            for (Future<List<String>> call : calls) {
+                assertSame(result, call.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(CALLERS - 1, coalescedCount("getTasksByUser"));
+        }
+
+        @Test
+        @DisplayName("Should rethrow the loader's exception to every caller")
+        void shouldShareException() throws Exception {
+            // Given
+            CountDownLatch release = new CountDownLatch(1);
+
+            // When
+            List<Future<Object>> calls = callConcurrently(() ->
+                    readCoalescer.execute(userId, "getTaskById", List.of("id"), () -> {
+                        await(release);
+                        throw new BusinessException("Task not found");
+                    }), release);
+
+            // Then
+            for (Future<Object> call : calls) {
+                ExecutionException exception = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(BusinessException.class, exception.getCause());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Flight boundaries")
+    class FlightBoundaries {
+
+        @Test
+        @DisplayName("Should not coalesce sequential reads")
+        void shouldNotCoalesceSequentialReads() {
+            // Given
+            AtomicInteger executions = new AtomicInteger();
+
+            // When
+            readCoalescer.execute(userId, "getTaskForDay", List.of("2030-01-01"), executions::incrementAndGet);
+            readCoalescer.execute(userId, "getTaskForDay", List.of("2030-01-01"), executions::incrementAndGet);
+
+            // Then
+            assertEquals(2, executions.get());
+            assertEquals(0, coalescedCount("getTaskForDay"));
+        }
+
+        @Test
+        @DisplayName("Should not join a flight that started before the user's last write")
+        void shouldNotJoinFlightAfterWrite() throws Exception {
+            // Given
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<String> stale = executor.submit(() ->
+                        readCoalescer.execute(userId, "getTasksByUser", List.of(), () -> {
+                            started.countDown();
+                            await(release);
+                            return "before write";
+                        }));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+
+                // When
+                readCoalescer.userChanged(userId);
+                String fresh = readCoalescer.execute(userId, "getTasksByUser", List.of(), () -> "after write");
+
+                // Then
+                assertEquals("after write", fresh);
+                release.countDown();
+                assertEquals("before write", stale.get(5, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep different arguments in separate flights")
+        void shouldSeparateDifferentArguments() {
+            // When
+            String january = readCoalescer.execute(userId, "getTaskForMonth", List.of("2030-01"), () -> "january");
+            String february = readCoalescer.execute(userId, "getTaskForMonth", List.of("2030-02"), () -> "february");
+
+            // Then
+            assertEquals("january", january);
+            assertEquals("february", february);
+        }
+    }
+
+    // Starts CALLERS identical calls, waits until all of them are in flight and then releases the loader
+    private <T> List<Future<T>> callConcurrently(Callable<T> call, CountDownLatch release)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<T>> calls = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                calls.add(executor.submit(call));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (totalCount() < CALLERS && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            return calls;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private double coalescedCount(String operation) {
+        Counter counter = meterRegistry.find("tasks.reads").tag("operation", operation).tag("outcome", "coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double totalCount() {
+        return meterRegistry.find("tasks.reads").counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
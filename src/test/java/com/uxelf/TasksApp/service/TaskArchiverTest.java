@@ -0,0 +1,180 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.repository.ArchivedTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskArchiver - chunked archiving")
+class TaskArchiverTest {
+
+    private static final LocalDate MIN_END = LocalDate.of(1, 1, 1);
+    private static final UUID MIN_UUID = new UUID(0, 0);
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Mock
+    private ClusterInvalidationBus clusterInvalidationBus;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UUID authorId;
+    private UUID otherAuthorId;
+    private LocalDate cutoff;
+
+    @BeforeEach
+    void setUp() {
+        authorId = UUID.randomUUID();
+        otherAuthorId = UUID.randomUUID();
+        cutoff = LocalDate.now().minusDays(180);
+    }
+
+    private TaskArchiver archiver(boolean enabled, double dutyCycle) {
+        return new TaskArchiver(archivedTaskRepository, clusterInvalidationBus, transactionManager,
+                enabled, 180, 2, 10, dutyCycle);
+    }
+
+    private static Object[] key(UUID id, UUID authorId, LocalDate end) {
+        return new Object[]{id, authorId, end};
+    }
+
+    @Nested
+    @DisplayName("Keyset walk")
+    class KeysetWalk {
+
+        @Test
+        @DisplayName("Should start at the beginning and continue after the last key of each chunk")
+        void shouldWalkFromLastKey() {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            UUID third = UUID.randomUUID();
+            LocalDate secondEnd = cutoff.minusDays(5);
+            when(archivedTaskRepository.findArchivableKeys(eq(cutoff), eq(MIN_END), eq(MIN_UUID), any()))
+                    .thenReturn(List.of(key(first, authorId, cutoff.minusDays(9)), key(second, authorId, secondEnd)));
+            when(archivedTaskRepository.findArchivableKeys(eq(cutoff), eq(secondEnd), eq(second), any()))
+                    .thenReturn(List.<Object[]>of(key(third, otherAuthorId, cutoff.minusDays(1))));
+
+            // When
+            archiver(true, 1).archiveCompletedTasks();
+
+            // Then
+            verify(archivedTaskRepository, times(2)).findArchivableKeys(any(), any(), any(), any());
+            verify(archivedTaskRepository).moveToArchive(Set.of(first, second), Set.of(authorId));
+            verify(archivedTaskRepository).moveToArchive(Set.of(third), Set.of(otherAuthorId));
+        }
+
+        @Test
+        @DisplayName("Should invalidate the moved tasks of every author in the chunk")
+        void shouldInvalidatePerAuthor() {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            when(archivedTaskRepository.findArchivableKeys(any(), any(), any(), any()))
+                    .thenReturn(List.of(key(first, authorId, cutoff.minusDays(2)),
+                            key(second, otherAuthorId, cutoff.minusDays(1))))
+                    .thenReturn(List.of());
+
+            // When
+            archiver(true, 1).archiveCompletedTasks();
+
+            // Then
+            verify(archivedTaskRepository).moveToArchive(Set.of(first, second), Set.of(authorId, otherAuthorId));
+            verify(clusterInvalidationBus).tasksChanged(authorId, List.of(first));
+            verify(clusterInvalidationBus).tasksChanged(otherAuthorId, List.of(second));
+        }
+
+        @Test
+        @DisplayName("Should stop when nothing is archivable")
+        void shouldStopWhenNothingArchivable() {
+            // Given
+            when(archivedTaskRepository.findArchivableKeys(any(), any(), any(), any())).thenReturn(List.of());
+
+            // When
+            archiver(true, 1).archiveCompletedTasks();
+
+            // Then
+            verify(archivedTaskRepository).findArchivableKeys(any(), any(), any(), any());
+            verify(archivedTaskRepository, never()).moveToArchive(any(), any());
+            verifyNoInteractions(clusterInvalidationBus);
+        }
+
+        @Test
+        @DisplayName("Should do nothing when disabled")
+        void shouldSkipWhenDisabled() {
+            // When
+            archiver(false, 1).archiveCompletedTasks();
+
+            // Then
+            verifyNoInteractions(archivedTaskRepository, clusterInvalidationBus, transactionManager);
+        }
+    }
+
+    @Nested
+    @DisplayName("Duty cycle")
+    class DutyCycle {
+
+        @Test
+        @DisplayName("Should sleep after a chunk so it takes up no more than the duty cycle")
+        void shouldSleepBetweenChunks() {
+            // Given
+            when(archivedTaskRepository.findArchivableKeys(any(), any(), any(), any()))
+                    .thenReturn(List.of(key(UUID.randomUUID(), authorId, cutoff.minusDays(2)),
+                            key(UUID.randomUUID(), authorId, cutoff.minusDays(1))))
+                    .thenReturn(List.of());
+            when(archivedTaskRepository.moveToArchive(any(), any())).thenAnswer(invocation -> {
+                Thread.sleep(50);
+                return 2;
+            });
+
+            // When
+            long startedAt = System.nanoTime();
+            archiver(true, 0.5).archiveCompletedTasks();
+            long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+            // Then
+            // A 50ms chunk at a 50% duty cycle is followed by at least 50ms of sleep
+            assertTrue(elapsedMillis >= 100, "run took " + elapsedMillis + "ms");
+            verify(archivedTaskRepository, times(2)).findArchivableKeys(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should stop after the current chunk when interrupted while pausing")
+        void shouldStopWhenInterrupted() {
+            // Given
+            when(archivedTaskRepository.findArchivableKeys(any(), any(), any(), any()))
+                    .thenReturn(List.of(key(UUID.randomUUID(), authorId, cutoff.minusDays(2)),
+                            key(UUID.randomUUID(), authorId, cutoff.minusDays(1))));
+            Thread.currentThread().interrupt();
+
+            // When
+            archiver(true, 0.5).archiveCompletedTasks();
+            boolean interrupted = Thread.interrupted();
+
+            // Then
+            assertTrue(interrupted, "the interrupt should be kept for the scheduler");
+            verify(archivedTaskRepository).findArchivableKeys(any(), any(), any(), any());
+            verify(archivedTaskRepository).moveToArchive(any(), any());
+        }
+    }
+}
@@ -1,33 +1,59 @@
 package com.uxelf.TasksApp.service;
 
+import com.uxelf.TasksApp.dto.tasks.BatchTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusRequest;
+import com.uxelf.TasksApp.dto.tasks.BulkStatusResponse;
 import com.uxelf.TasksApp.dto.tasks.CreateTaskRequest;
+import com.uxelf.TasksApp.dto.tasks.DayTasksResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskDensityResponse;
+import com.uxelf.TasksApp.dto.tasks.TaskFieldChange;
 import com.uxelf.TasksApp.dto.tasks.TaskResponse;
+import com.uxelf.TasksApp.dto.tasks.UpdateOccurrenceRequest;
 import com.uxelf.TasksApp.dto.tasks.UpdateTaskRequest;
+import com.uxelf.TasksApp.entity.ArchivedTask;
 import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.TaskOccurrenceOverride;
 import com.uxelf.TasksApp.entity.User;
 import com.uxelf.TasksApp.entity.enums.TaskStatus;
 import com.uxelf.TasksApp.exception.BusinessException;
+import com.uxelf.TasksApp.repository.ArchivedTaskRepository;
+import com.uxelf.TasksApp.repository.TaskOccurrenceOverrideRepository;
 import com.uxelf.TasksApp.repository.TaskRepository;
 import com.uxelf.TasksApp.repository.UserRepository;
+import com.uxelf.TasksApp.service.history.TaskHistoryEntry;
+import com.uxelf.TasksApp.service.history.TaskHistoryRecorder;
+import com.uxelf.TasksApp.service.recurrence.RecurrenceExpander;
+import com.uxelf.TasksApp.service.reminder.ReminderScheduler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+@Tag("jvm-only")
 @ExtendWith(MockitoExtension.class)
 @DisplayName("TaskService - Edge Cases and Validation Tests")
 class TaskServiceTest {
@@ -38,6 +64,39 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TaskOccurrenceOverrideRepository occurrenceOverrideRepository;
+
+    @Spy
+    private RecurrenceExpander recurrenceExpander = new RecurrenceExpander();
+
+    @Mock
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer(new SimpleMeterRegistry());
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private TaskStatusBulkUpdater taskStatusBulkUpdater;
+
+    @Mock
+    private TaskStatusWriteBehind taskStatusWriteBehind;
+
+    @Mock
+    private ClusterInvalidationBus clusterInvalidationBus;
+
+    @Mock
+    private ReminderScheduler reminderScheduler;
+
+    @Mock
+    private TaskHistoryRecorder taskHistoryRecorder;
+
+    @Mock
+    private DeletedTaskPurger deletedTaskPurger;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -547,6 +606,66 @@ class TaskServiceTest {
             assertDoesNotThrow(() -> taskService.deleteTask(taskId, userId));
             verify(taskRepository, times(1)).delete(task);
         }
+
+        @Test
+        @DisplayName("Should keep the occurrence overrides of a deleted task for a restore")
+        void shouldKeepOverridesOfDeletedTask() {
+            // Given
+            Task task = createTask("Series", LocalDate.now(), LocalDate.now());
+            task.setRecurrence("FREQ=DAILY");
+            when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+            // When
+            taskService.deleteTask(taskId, userId);
+
+            // Then
+            verify(taskRepository).delete(task);
+            verifyNoInteractions(occurrenceOverrideRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("restoreTask")
+    class RestoreTask {
+
+        @Test
+        @DisplayName("Should restore a task deleted within the restore window")
+        void shouldRestoreTask() {
+            // Given
+            Task task = createTask("Title", LocalDate.now(), LocalDate.now().plusDays(2));
+            Instant since = Instant.now().minus(Duration.ofDays(30));
+            when(deletedTaskPurger.restorableSince()).thenReturn(since);
+            when(taskRepository.restore(taskId, userId, since)).thenReturn(1);
+            when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+            // When
+            TaskResponse response = taskService.restoreTask(taskId, userId);
+
+            // Then
+            assertEquals(taskId, response.getId());
+            verify(taskStatsService).recordChange(
+                    userId,
+                    null,
+                    new TaskStatsService.TaskSnapshot(TaskStatus.PENDING, LocalDate.now().plusDays(2), false)
+            );
+        }
+
+        @Test
+        @DisplayName("Should refuse a task that isn't deleted or was deleted before the window")
+        void shouldRefuseUnrestorableTask() {
+            // Given
+            Instant since = Instant.now().minus(Duration.ofDays(30));
+            when(deletedTaskPurger.restorableSince()).thenReturn(since);
+            when(taskRepository.restore(taskId, userId, since)).thenReturn(0);
+
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> taskService.restoreTask(taskId, userId)
+            );
+            assertEquals("Task not found or no longer restorable", exception.getMessage());
+            verifyNoInteractions(taskStatsService);
+        }
     }
 
     @Nested
@@ -599,6 +718,441 @@ class TaskServiceTest {
             assertNotNull(response);
             assertNull(response.getDescription());
         }
+
+        @Test
+        @DisplayName("Should fall back to the archive when the task is no longer live")
+        void shouldFallBackToArchive() {
+            // Given
+            ArchivedTask archived = mock(ArchivedTask.class);
+            when(archived.getId()).thenReturn(taskId);
+            when(archived.getTitle()).thenReturn("Old task");
+            when(archived.getStatus()).thenReturn(TaskStatus.COMPLETED);
+            when(archived.getEnd()).thenReturn(LocalDate.now().minusYears(2));
+            when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+            when(archivedTaskRepository.findByIdAndAuthorId(taskId, userId)).thenReturn(Optional.of(archived));
+
+            // When
+            TaskResponse response = taskService.getTaskById(taskId, userId);
+
+            // Then
+            assertEquals("Old task", response.getTitle());
+            assertEquals(TaskStatus.COMPLETED, response.getStatus());
+            assertFalse(response.isExpired());
+        }
+    }
+
+    @Nested
+    @DisplayName("Recurring tasks")
+    class RecurringTasks {
+
+        @Test
+        @DisplayName("Should store a recurring task once and compute when the series ends")
+        void shouldStoreSeriesWithRecurrenceEnd() {
+            // Given
+            LocalDate start = LocalDate.now();
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setTitle("Standup");
+            request.setStart(start);
+            request.setEnd(start.plusDays(1));
+            request.setRecurrence("FREQ=DAILY;COUNT=3");
+
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+            when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            TaskResponse response = taskService.createTask(request, userId);
+
+            // Then
+            verify(taskRepository, times(1)).save(any(Task.class));
+            assertEquals("FREQ=DAILY;COUNT=3", response.getRecurrence());
+            assertNull(response.getOccurrence());
+        }
+
+        @Test
+        @DisplayName("Should reject an invalid recurrence rule")
+        void shouldRejectInvalidRecurrence() {
+            // Given
+            CreateTaskRequest request = new CreateTaskRequest();
+            request.setTitle("Title");
+            request.setStart(LocalDate.now());
+            request.setEnd(LocalDate.now().plusDays(1));
+            request.setRecurrence("FREQ=HOURLY");
+
+            when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> taskService.createTask(request, userId)
+            );
+            assertEquals("Invalid recurrence rule: FREQ=HOURLY", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should expand occurrences of the requested day and apply overrides")
+        void shouldExpandOccurrencesForDay() {
+            // Given
+            LocalDate start = LocalDate.of(2030, 1, 7);
+            Task series = createTask("Gym", start, start);
+            series.setRecurrence("FREQ=WEEKLY;BYDAY=MO,WE");
+            LocalDate day = LocalDate.of(2030, 1, 16);
+
+            when(taskRepository.findTasksOverlappingDay(userId, day)).thenReturn(List.of());
+            when(taskRepository.findRecurringTasksOverlapping(userId, day, day)).thenReturn(List.of(series));
+            when(occurrenceOverrideRepository.findByTaskIdInAndOccurrenceDateBetween(List.of(taskId), day, day))
+                    .thenReturn(List.of(new TaskOccurrenceOverride(taskId, day, TaskStatus.COMPLETED)));
+
+            // When
+            List<TaskResponse> responses = taskService.getTaskForDay(userId, day);
+
+            // Then
+            assertEquals(1, responses.size());
+            assertEquals(day, responses.get(0).getOccurrence());
+            assertEquals(day, responses.get(0).getStart());
+            assertEquals(TaskStatus.COMPLETED, responses.get(0).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject an override for a date that is not an occurrence")
+        void shouldRejectOverrideOutsideSeries() {
+            // Given
+            Task series = createTask("Gym", LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 7));
+            series.setRecurrence("FREQ=WEEKLY");
+            UpdateOccurrenceRequest request = new UpdateOccurrenceRequest();
+            request.setStatus(TaskStatus.COMPLETED);
+
+            when(taskRepository.findById(taskId)).thenReturn(Optional.of(series));
+
+            // When & Then
+            BusinessException exception = assertThrows(
+                    BusinessException.class,
+                    () -> taskService.updateOccurrence(taskId, LocalDate.of(2030, 1, 8), request, userId)
+            );
+            assertEquals("Task has no occurrence starting on 2030-01-08", exception.getMessage());
+            verify(occurrenceOverrideRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should record an override against the series status and run the update hooks")
+        void shouldRecordOverrideHistory() {
+            // Given
+            LocalDate occurrence = LocalDate.of(2030, 1, 14);
+            Task series = createTask("Gym", LocalDate.of(2030, 1, 7), LocalDate.of(2030, 1, 7));
+            series.setRecurrence("FREQ=WEEKLY");
+            UpdateOccurrenceRequest request = new UpdateOccurrenceRequest();
+            request.setStatus(TaskStatus.COMPLETED);
+
+            when(taskRepository.findById(taskId)).thenReturn(Optional.of(series));
+            when(occurrenceOverrideRepository.findByTaskIdAndOccurrenceDate(taskId, occurrence)).thenReturn(Optional.empty());
+
+            // When
+            TaskResponse response = taskService.updateOccurrence(taskId, occurrence, request, userId);
+
+            // Then
+            assertEquals(TaskStatus.COMPLETED, response.getStatus());
+            ArgumentCaptor<TaskHistoryEntry> entry = ArgumentCaptor.forClass(TaskHistoryEntry.class);
+            verify(taskHistoryRecorder).record(entry.capture());
+            assertEquals(List.of(new TaskFieldChange("status@2030-01-14", "PENDING", "COMPLETED")), entry.getValue().changes());
+            verify(occurrenceOverrideRepository).save(any(TaskOccurrenceOverride.class));
+            verify(taskStatsService).recordChange(userId, TaskStatsService.TaskSnapshot.of(series), TaskStatsService.TaskSnapshot.of(series));
+            verify(clusterInvalidationBus).taskChanged(userId, taskId);
+            verify(reminderScheduler).taskChanged(series);
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch lookup by ids")
+    class BatchLookup {
+
+        @Test
+        @DisplayName("Should return found tasks in request order and report the rest as missing")
+        void shouldReturnFoundAndMissing() {
+            // Given
+            UUID archivedId = UUID.randomUUID();
+            UUID missingId = UUID.randomUUID();
+            Task task = createTask("Live", LocalDate.now(), LocalDate.now().plusDays(1));
+            ArchivedTask archived = mock(ArchivedTask.class);
+            when(archived.getId()).thenReturn(archivedId);
+            when(archived.getTitle()).thenReturn("Archived");
+
+            when(taskRepository.findByAuthorIdAndIdIn(userId, List.of(missingId, taskId, archivedId)))
+                    .thenReturn(List.of(task));
+            when(archivedTaskRepository.findByAuthorIdAndIdIn(userId, List.of(missingId, archivedId)))
+                    .thenReturn(List.of(archived));
+
+            // When
+            BatchTasksResponse response = taskService.getTasksByIds(List.of(missingId, taskId, archivedId, taskId), userId);
+
+            // Then
+            assertEquals(List.of("Live", "Archived"), response.getTasks().stream().map(TaskResponse::getTitle).toList());
+            assertEquals(List.of(missingId), response.getMissing());
+            verify(taskRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should not query the archive when every task is live")
+        void shouldSkipArchiveWhenAllFound() {
+            // Given
+            Task task = createTask("Live", LocalDate.now(), LocalDate.now().plusDays(1));
+            when(taskRepository.findByAuthorIdAndIdIn(userId, List.of(taskId))).thenReturn(List.of(task));
+
+            // When
+            BatchTasksResponse response = taskService.getTasksByIds(List.of(taskId), userId);
+
+            // Then
+            assertEquals(1, response.getTasks().size());
+            assertTrue(response.getMissing().isEmpty());
+            verifyNoInteractions(archivedTaskRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject more than 500 ids")
+        void shouldRejectTooManyIds() {
+            // Given
+            List<UUID> ids = Stream.generate(UUID::randomUUID).limit(501).toList();
+
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> taskService.getTasksByIds(ids, userId)
+            );
+            assertEquals("Between 1 and 500 ids must be requested", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk status transitions")
+    class BulkStatus {
+
+        @Test
+        @DisplayName("Should move overdue tasks in one statement and report the count")
+        void shouldUpdateOverdueTasks() {
+            // Given
+            BulkStatusRequest request = new BulkStatusRequest();
+            request.setNewStatus(TaskStatus.IN_PROGRESS);
+            request.setOverdue(true);
+
+            TaskStatusBulkUpdater.Filter filter = new TaskStatusBulkUpdater.Filter(
+                    null, null, null, EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), LocalDate.now());
+            when(taskStatusBulkUpdater.updateStatuses(userId, TaskStatus.IN_PROGRESS, filter))
+                    .thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+            // When
+            BulkStatusResponse response = taskService.updateStatuses(request, userId);
+
+            // Then
+            assertEquals(2, response.getUpdated());
+            verify(taskRepository, never()).findById(any());
+            verify(taskRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should reject a request without any filter")
+        void shouldRejectMissingFilter() {
+            // Given
+            BulkStatusRequest request = new BulkStatusRequest();
+            request.setNewStatus(TaskStatus.COMPLETED);
+
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> taskService.updateStatuses(request, userId)
+            );
+            assertEquals("At least one filter is required", exception.getMessage());
+            verifyNoInteractions(taskStatusBulkUpdater);
+        }
+
+        @Test
+        @DisplayName("Should reject a to date before the from date")
+        void shouldRejectInvertedWindow() {
+            // Given
+            BulkStatusRequest request = new BulkStatusRequest();
+            request.setNewStatus(TaskStatus.COMPLETED);
+            request.setFrom(LocalDate.of(2030, 1, 10));
+            request.setTo(LocalDate.of(2030, 1, 9));
+
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> taskService.updateStatuses(request, userId)
+            );
+            assertEquals("To date must not be before from date", exception.getMessage());
+            verifyNoInteractions(taskStatusBulkUpdater);
+        }
+    }
+
+    @Nested
+    @DisplayName("Write-behind status updates")
+    class WriteBehind {
+
+        @Test
+        @DisplayName("Should buffer a status-only update instead of saving it")
+        void shouldBufferStatusOnlyUpdate() {
+            // Given
+            Task task = createTask("Title", LocalDate.now(), LocalDate.now().plusDays(2));
+            UpdateTaskRequest request = new UpdateTaskRequest();
+            request.setStatus(TaskStatus.IN_PROGRESS);
+
+            when(taskStatusWriteBehind.isEnabled()).thenReturn(true);
+            when(taskRepository.findByIdAndAuthorId(taskId, userId)).thenReturn(Optional.of(task));
+
+            // When
+            TaskResponse response = taskService.updateTask(taskId, request, userId);
+
+            // Then
+            assertEquals(TaskStatus.IN_PROGRESS, response.getStatus());
+            assertEquals(TaskStatus.PENDING, task.getStatus());
+            verify(taskStatusWriteBehind).submit(taskId, userId, TaskStatus.IN_PROGRESS);
+            verify(taskRepository, never()).save(any());
+            verifyNoInteractions(taskStatsService, taskHistoryRecorder);
+        }
+
+        @Test
+        @DisplayName("Should flush buffered statuses before any other change")
+        void shouldFlushBeforeFullUpdate() {
+            // Given
+            Task task = createTask("Title", LocalDate.now(), LocalDate.now().plusDays(2));
+            UpdateTaskRequest request = new UpdateTaskRequest();
+            request.setTitle("New title");
+            request.setStatus(TaskStatus.COMPLETED);
+
+            when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+            when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+            // When
+            taskService.updateTask(taskId, request, userId);
+
+            // Then
+            InOrder order = inOrder(taskStatusWriteBehind, taskRepository);
+            order.verify(taskStatusWriteBehind).flush(userId);
+            order.verify(taskRepository).save(task);
+            verify(taskStatusWriteBehind, never()).submit(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Date range grouped by day")
+    class DateRange {
+
+        @Test
+        @DisplayName("Should put every task and occurrence in each day it covers")
+        void shouldBucketTasksByDay() {
+            // Given
+            LocalDate from = LocalDate.of(2030, 1, 7);
+            LocalDate to = LocalDate.of(2030, 1, 9);
+            Task trip = new Task(UUID.randomUUID(), "Trip", null, LocalDate.of(2030, 1, 5), LocalDate.of(2030, 1, 8), user);
+            Task series = createTask("Gym", LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 2));
+            series.setRecurrence("FREQ=WEEKLY;BYDAY=TU,TH");
+
+            when(taskRepository.findTasksAndSeriesOverlapping(userId, from, to)).thenReturn(List.of(series, trip));
+
+            // When
+            List<DayTasksResponse> days = taskService.getTasksForRange(userId, from, to);
+
+            // Then
+            assertEquals(List.of(from, from.plusDays(1), to), days.stream().map(DayTasksResponse::getDate).toList());
+            assertEquals(List.of("Trip"), days.get(0).getTasks().stream().map(TaskResponse::getTitle).toList());
+            assertEquals(List.of("Trip", "Gym"), days.get(1).getTasks().stream().map(TaskResponse::getTitle).toList());
+            assertEquals(List.of(), days.get(2).getTasks());
+            assertEquals(LocalDate.of(2030, 1, 8), days.get(1).getTasks().get(1).getOccurrence());
+            verify(taskRepository, never()).findRecurringTasksOverlapping(any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should reject a window longer than six weeks")
+        void shouldRejectWindowLongerThanSixWeeks() {
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> taskService.getTasksForRange(userId, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 2, 12))
+            );
+            assertEquals("Date range cannot exceed 42 days", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Task density")
+    class TaskDensity {
+
+        @Test
+        @DisplayName("Should count the tasks active on each day of the window")
+        void shouldCountActiveTasksPerDay() {
+            // Given
+            LocalDate from = LocalDate.of(2030, 1, 1);
+            LocalDate to = LocalDate.of(2030, 1, 5);
+            Task series = createTask("Gym", LocalDate.of(2029, 12, 31), LocalDate.of(2030, 1, 1));
+            series.setRecurrence("FREQ=DAILY;INTERVAL=3");
+
+            when(taskRepository.findSpansOverlapping(userId, from, to)).thenReturn(List.of(
+                    new Object[]{LocalDate.of(2029, 12, 20), LocalDate.of(2030, 1, 2)},
+                    new Object[]{LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 9)}
+            ));
+            when(taskRepository.findRecurringTasksOverlapping(userId, from, to)).thenReturn(List.of(series));
+
+            // When
+            TaskDensityResponse response = taskService.getTaskDensity(userId, from, to);
+
+            // Then
+            // Occurrences start on Dec 31, Jan 3 and Jan 6 and last two days each
+            assertArrayEquals(new int[]{2, 2, 2, 2, 1}, response.getCounts());
+        }
+
+        @Test
+        @DisplayName("Should reject a window longer than a year")
+        void shouldRejectWindowLongerThanAYear() {
+            // When & Then
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> taskService.getTaskDensity(userId, LocalDate.of(2030, 1, 1), LocalDate.of(2031, 1, 2))
+            );
+            assertEquals("Date range cannot exceed 366 days", exception.getMessage());
+            verifyNoInteractions(taskRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Task statistics")
+    class TaskStatistics {
+
+        @Test
+        @DisplayName("Should record the task state before and after an update")
+        void shouldRecordStatusChange() {
+            // Given
+            Task task = createTask("Title", LocalDate.now(), LocalDate.now().plusDays(2));
+            UpdateTaskRequest request = new UpdateTaskRequest();
+            request.setStatus(TaskStatus.COMPLETED);
+
+            when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+            when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+            // When
+            taskService.updateTask(taskId, request, userId);
+
+            // Then
+            verify(taskStatsService).recordChange(
+                    userId,
+                    new TaskStatsService.TaskSnapshot(TaskStatus.PENDING, LocalDate.now().plusDays(2), false),
+                    new TaskStatsService.TaskSnapshot(TaskStatus.COMPLETED, LocalDate.now().plusDays(2), false)
+            );
+        }
+
+        @Test
+        @DisplayName("Should record a deleted task as removed from the counts")
+        void shouldRecordDeletion() {
+            // Given
+            Task task = createTask("Title", LocalDate.now(), LocalDate.now().plusDays(2));
+            when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+
+            // When
+            taskService.deleteTask(taskId, userId);
+
+            // Then
+            verify(taskStatsService).recordChange(
+                    userId,
+                    new TaskStatsService.TaskSnapshot(TaskStatus.PENDING, LocalDate.now().plusDays(2), false),
+                    null
+            );
+        }
     }
 
     // Helper method
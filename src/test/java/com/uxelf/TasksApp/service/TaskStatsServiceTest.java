@@ -0,0 +1,169 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.dto.tasks.TaskStatsResponse;
+import com.uxelf.TasksApp.entity.TaskStats;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.repository.TaskStatsRepository;
+import com.uxelf.TasksApp.service.TaskStatsService.TaskSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskStatsService - incremental counters")
+class TaskStatsServiceTest {
+
+    // A Wednesday, so the week runs until Sunday 2030-01-06
+    private static final LocalDate AS_OF = LocalDate.of(2030, 1, 2);
+
+    @Mock
+    private TaskStatsRepository taskStatsRepository;
+
+    @InjectMocks
+    private TaskStatsService taskStatsService;
+
+    private UUID userId;
+    private TaskStats stats;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        stats = new TaskStats(userId, AS_OF);
+    }
+
+    @Nested
+    @DisplayName("recordChange")
+    class RecordChange {
+
+        @Test
+        @DisplayName("Should count a created task due this week")
+        void shouldCountCreatedTaskDueThisWeek() {
+            // Given
+            when(taskStatsRepository.findForUpdate(userId)).thenReturn(Optional.of(stats));
+
+            // When
+            taskStatsService.recordChange(userId, null, new TaskSnapshot(TaskStatus.PENDING, AS_OF.plusDays(4), false));
+
+            // Then
+            verify(taskStatsRepository).insertIfAbsent(eq(userId), any(LocalDate.class));
+            assertEquals(1, stats.getPending());
+            assertEquals(1, stats.getDueThisWeek());
+            assertEquals(0, stats.getOverdue());
+        }
+
+        @Test
+        @DisplayName("Should move an overdue task to completed")
+        void shouldMoveOverdueTaskToCompleted() {
+            // Given
+            stats.setInProgress(1);
+            stats.setOverdue(1);
+            when(taskStatsRepository.findForUpdate(userId)).thenReturn(Optional.of(stats));
+
+            // When
+            taskStatsService.recordChange(userId,
+                    new TaskSnapshot(TaskStatus.IN_PROGRESS, AS_OF.minusDays(1), false),
+                    new TaskSnapshot(TaskStatus.COMPLETED, AS_OF.minusDays(1), false));
+
+            // Then
+            assertEquals(0, stats.getInProgress());
+            assertEquals(1, stats.getCompleted());
+            assertEquals(0, stats.getOverdue());
+        }
+
+        @Test
+        @DisplayName("Should only count recurring series by status")
+        void shouldOnlyCountRecurringSeriesByStatus() {
+            // Given
+            when(taskStatsRepository.findForUpdate(userId)).thenReturn(Optional.of(stats));
+
+            // When
+            taskStatsService.recordChange(userId, null, new TaskSnapshot(TaskStatus.PENDING, AS_OF.minusDays(3), true));
+
+            // Then
+            assertEquals(1, stats.getPending());
+            assertEquals(0, stats.getOverdue());
+            assertEquals(0, stats.getDueThisWeek());
+        }
+
+        @Test
+        @DisplayName("Should not count a task due after this week")
+        void shouldNotCountTaskDueNextWeek() {
+            // Given
+            when(taskStatsRepository.findForUpdate(userId)).thenReturn(Optional.of(stats));
+
+            // When
+            taskStatsService.recordChange(userId, null, new TaskSnapshot(TaskStatus.PENDING, AS_OF.plusDays(5), false));
+
+            // Then
+            assertEquals(1, stats.getPending());
+            assertEquals(0, stats.getDueThisWeek());
+        }
+
+        @Test
+        @DisplayName("Should skip the counters when nothing they depend on changed")
+        void shouldSkipUnchangedTask() {
+            // Given
+            TaskSnapshot snapshot = new TaskSnapshot(TaskStatus.PENDING, AS_OF, false);
+
+            // When
+            taskStatsService.recordChange(userId, snapshot, snapshot);
+
+            // Then
+            verifyNoInteractions(taskStatsRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("getStats")
+    class GetStats {
+
+        @Test
+        @DisplayName("Should return zeros for a user without tasks")
+        void shouldReturnZerosForNewUser() {
+            // Given
+            when(taskStatsRepository.findById(userId)).thenReturn(Optional.empty());
+
+            // When
+            TaskStatsResponse response = taskStatsService.getStats(userId);
+
+            // Then
+            assertEquals(0, response.getTotal());
+            assertEquals(0L, response.getByStatus().get(TaskStatus.PENDING));
+        }
+
+        @Test
+        @DisplayName("Should add up the status counts")
+        void shouldAddUpStatusCounts() {
+            // Given
+            stats.setPending(2);
+            stats.setInProgress(3);
+            stats.setCompleted(4);
+            stats.setOverdue(1);
+            when(taskStatsRepository.findById(userId)).thenReturn(Optional.of(stats));
+
+            // When
+            TaskStatsResponse response = taskStatsService.getStats(userId);
+
+            // Then
+            assertEquals(9, response.getTotal());
+            assertEquals(3L, response.getByStatus().get(TaskStatus.IN_PROGRESS));
+            assertEquals(1, response.getOverdue());
+            assertEquals(AS_OF, response.getAsOf());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.dto.tasks.TaskFieldChange;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.repository.TaskRepository;
+import com.uxelf.TasksApp.service.TaskStatusBulkUpdater.StatusChange;
+import com.uxelf.TasksApp.service.history.TaskHistoryEntry;
+import com.uxelf.TasksApp.service.history.TaskHistoryRecorder;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskStatusBulkUpdater - set-based status updates")
+class TaskStatusBulkUpdaterTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskStatsService taskStatsService;
+
+    @Mock
+    private ReadCoalescer readCoalescer;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private ClusterInvalidationBus clusterInvalidationBus;
+
+    @Mock
+    private TaskHistoryRecorder taskHistoryRecorder;
+
+    private TaskStatusBulkUpdater updater;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        updater = new TaskStatusBulkUpdater(taskRepository, taskStatsService, readCoalescer,
+                entityManagerFactory, clusterInvalidationBus, taskHistoryRecorder);
+        userId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Filtered updates")
+    class UpdateStatuses {
+
+        @Test
+        @DisplayName("Should record one history entry per task it moved")
+        void shouldRecordEveryReturnedRow() {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            when(entityManagerFactory.getCache()).thenReturn(cache);
+            when(taskRepository.updateStatuses(eq(userId), eq("COMPLETED"), any(), any(), any(), any(), any()))
+                    .thenReturn(List.<Object[]>of(
+                            new Object[]{first, "PENDING", LocalDate.of(2030, 1, 1)},
+                            new Object[]{second, "IN_PROGRESS", LocalDate.of(2030, 1, 2)}
+                    ));
+
+            // When
+            List<UUID> ids = updater.updateStatuses(userId, TaskStatus.COMPLETED,
+                    new TaskStatusBulkUpdater.Filter(null, null, null, EnumSet.allOf(TaskStatus.class), null));
+
+            // Then
+            assertEquals(List.of(first, second), ids);
+            ArgumentCaptor<TaskHistoryEntry> entries = ArgumentCaptor.forClass(TaskHistoryEntry.class);
+            verify(taskHistoryRecorder, times(2)).record(entries.capture());
+            assertEquals(List.of(
+                    List.of(new TaskFieldChange("status", "PENDING", "COMPLETED")),
+                    List.of(new TaskFieldChange("status", "IN_PROGRESS", "COMPLETED"))
+            ), entries.getAllValues().stream().map(TaskHistoryEntry::changes).toList());
+            assertEquals(List.of(first, second), entries.getAllValues().stream().map(TaskHistoryEntry::taskId).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Applying buffered statuses")
+    class ApplyStatuses {
+
+        @Test
+        @DisplayName("Should record the history of the rows written, with the status they replaced")
+        void shouldRecordWrittenRows() {
+            // Given
+            UUID written = UUID.randomUUID();
+            UUID skipped = UUID.randomUUID();
+            when(entityManagerFactory.getCache()).thenReturn(cache);
+            when(taskRepository.applyStatuses(any(), any(), any())).thenReturn(List.<Object[]>of(
+                    new Object[]{written, userId, "PENDING", "COMPLETED", LocalDate.of(2030, 1, 1), false}
+            ));
+
+            // When
+            int count = updater.applyStatuses(List.of(
+                    new StatusChange(written, userId, TaskStatus.COMPLETED),
+                    new StatusChange(skipped, userId, TaskStatus.IN_PROGRESS)
+            ));
+
+            // Then
+            assertEquals(1, count);
+            ArgumentCaptor<TaskHistoryEntry> entry = ArgumentCaptor.forClass(TaskHistoryEntry.class);
+            verify(taskHistoryRecorder).record(entry.capture());
+            assertEquals(written, entry.getValue().taskId());
+            assertEquals(userId, entry.getValue().authorId());
+            assertEquals(List.of(new TaskFieldChange("status", "PENDING", "COMPLETED")), entry.getValue().changes());
+        }
+
+        @Test
+        @DisplayName("Should record nothing when no row changed")
+        void shouldSkipWhenNothingWritten() {
+            // Given
+            when(taskRepository.applyStatuses(any(), any(), any())).thenReturn(List.of());
+
+            // When
+            int count = updater.applyStatuses(List.of(new StatusChange(UUID.randomUUID(), userId, TaskStatus.COMPLETED)));
+
+            // Then
+            assertEquals(0, count);
+            verifyNoInteractions(taskHistoryRecorder, taskStatsService);
+        }
+    }
+}
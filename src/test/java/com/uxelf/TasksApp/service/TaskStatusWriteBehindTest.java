@@ -0,0 +1,174 @@
+package com.uxelf.TasksApp.service;
+
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import com.uxelf.TasksApp.service.TaskStatusBulkUpdater.StatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskStatusWriteBehind - buffered status updates")
+class TaskStatusWriteBehindTest {
+
+    @Mock
+    private TaskStatusBulkUpdater taskStatusBulkUpdater;
+
+    private TaskStatusWriteBehind writeBehind;
+    private UUID userId;
+    private UUID taskId;
+
+    @BeforeEach
+    void setUp() {
+        writeBehind = new TaskStatusWriteBehind(taskStatusBulkUpdater, true, 2);
+        userId = UUID.randomUUID();
+        taskId = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("Buffering")
+    class Buffering {
+
+        @Test
+        @DisplayName("Should write only the last status of a task moved several times")
+        void shouldMergeChangesPerTask() {
+            // Given
+            writeBehind.submit(taskId, userId, TaskStatus.IN_PROGRESS);
+            writeBehind.submit(taskId, userId, TaskStatus.COMPLETED);
+            writeBehind.submit(taskId, userId, TaskStatus.IN_PROGRESS);
+
+            // When
+            writeBehind.flushAll();
+
+            // Then
+            verify(taskStatusBulkUpdater).applyStatuses(List.of(new StatusChange(taskId, userId, TaskStatus.IN_PROGRESS)));
+            verifyNoMoreInteractions(taskStatusBulkUpdater);
+        }
+
+        @Test
+        @DisplayName("Should split a flush into batches")
+        void shouldFlushInBatches() {
+            // Given
+            for (int i = 0; i < 5; i++) {
+                writeBehind.submit(UUID.randomUUID(), userId, TaskStatus.COMPLETED);
+            }
+
+            // When
+            writeBehind.flushAll();
+
+            // Then
+            verify(taskStatusBulkUpdater, times(3)).applyStatuses(any());
+        }
+
+        @Test
+        @DisplayName("Should buffer a change only once the accepting transaction commits")
+        void shouldBufferAfterCommit() {
+            // Given
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                writeBehind.submit(taskId, userId, TaskStatus.COMPLETED);
+
+                // When
+                writeBehind.flush(userId);
+                assertTrue(writeBehind.pendingStatus(userId, taskId).isEmpty());
+                TransactionSynchronizationUtils.triggerAfterCommit();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Then
+            assertEquals(TaskStatus.COMPLETED, writeBehind.pendingStatus(userId, taskId).orElseThrow());
+            verifyNoInteractions(taskStatusBulkUpdater);
+        }
+
+        @Test
+        @DisplayName("Should write changes directly after shutdown")
+        void shouldWriteDirectlyWhenClosed() {
+            // Given
+            writeBehind.close();
+
+            // When
+            writeBehind.submit(taskId, userId, TaskStatus.COMPLETED);
+
+            // Then
+            verify(taskStatusBulkUpdater).applyStatuses(List.of(new StatusChange(taskId, userId, TaskStatus.COMPLETED)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Flushing")
+    class Flushing {
+
+        @Test
+        @DisplayName("Should only flush the changes of the given user")
+        void shouldFlushOneUser() {
+            // Given
+            UUID otherUserId = UUID.randomUUID();
+            UUID otherTaskId = UUID.randomUUID();
+            writeBehind.submit(taskId, userId, TaskStatus.COMPLETED);
+            writeBehind.submit(otherTaskId, otherUserId, TaskStatus.COMPLETED);
+
+            // When
+            writeBehind.flush(userId);
+            writeBehind.flush(userId);
+
+            // Then
+            verify(taskStatusBulkUpdater).applyStatuses(List.of(new StatusChange(taskId, userId, TaskStatus.COMPLETED)));
+            verifyNoMoreInteractions(taskStatusBulkUpdater);
+        }
+
+        @Test
+        @DisplayName("Should put changes back when the transaction that flushed them rolls back")
+        void shouldRestoreOnRollback() {
+            // Given
+            writeBehind.submit(taskId, userId, TaskStatus.COMPLETED);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                writeBehind.flush(userId);
+                assertTrue(writeBehind.pendingStatus(userId, taskId).isEmpty());
+
+                // When
+                TransactionSynchronizationUtils.invokeAfterCompletion(
+                        TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // Then
+            assertEquals(TaskStatus.COMPLETED, writeBehind.pendingStatus(userId, taskId).orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Should keep changes whose write failed for the next flush")
+        void shouldRetryFailedWrites() {
+            // Given
+            writeBehind.submit(taskId, userId, TaskStatus.COMPLETED);
+            when(taskStatusBulkUpdater.applyStatuses(any()))
+                    .thenThrow(new IllegalStateException("database unavailable"))
+                    .thenReturn(1);
+
+            // When
+            assertThrows(IllegalStateException.class, () -> writeBehind.flush(userId));
+            writeBehind.flushAll();
+
+            // Then
+            verify(taskStatusBulkUpdater, times(2))
+                    .applyStatuses(List.of(new StatusChange(taskId, userId, TaskStatus.COMPLETED)));
+        }
+    }
+}
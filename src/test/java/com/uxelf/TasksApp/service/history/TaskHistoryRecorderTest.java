@@ -0,0 +1,174 @@
+package com.uxelf.TasksApp.service.history;
+
+import com.uxelf.TasksApp.dto.tasks.TaskFieldChange;
+import com.uxelf.TasksApp.entity.Task;
+import com.uxelf.TasksApp.entity.User;
+import com.uxelf.TasksApp.entity.enums.TaskChangeType;
+import com.uxelf.TasksApp.entity.enums.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TaskHistoryRecorder - buffered task history")
+class TaskHistoryRecorderTest {
+
+    @Mock
+    private TaskHistoryStore taskHistoryStore;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        User user = new User(UUID.randomUUID(), "user", "password123");
+        task = new Task(UUID.randomUUID(), "Task", null, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 2), user);
+    }
+
+    private TaskHistoryRecorder recorder(int capacity, int batchSize, String overflow) {
+        return new TaskHistoryRecorder(taskHistoryStore, meterRegistry, true, capacity, batchSize, overflow,
+                Duration.ZERO);
+    }
+
+    @Nested
+    @DisplayName("Entries")
+    class Entries {
+
+        @Test
+        @DisplayName("Should list only the fields that changed")
+        void shouldDiffFields() {
+            // Given
+            Map<String, String> before = TaskHistoryEntry.fields(task);
+            task.setTitle("Renamed");
+            task.setStatus(TaskStatus.COMPLETED);
+
+            // When
+            TaskHistoryEntry entry = TaskHistoryEntry.updated(task, before);
+
+            // Then
+            assertEquals(TaskChangeType.UPDATED, entry.changeType());
+            assertEquals(List.of(
+                    new TaskFieldChange("title", "Task", "Renamed"),
+                    new TaskFieldChange("status", "PENDING", "COMPLETED")
+            ), entry.changes());
+        }
+
+        @Test
+        @DisplayName("Should list only the status for a status written by a set-based update")
+        void shouldListOnlyWrittenStatus() {
+            // When
+            TaskHistoryEntry entry = TaskHistoryEntry.statusChanged(task.getId(), task.getAuthorId(), TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED);
+
+            // Then
+            assertEquals(List.of(new TaskFieldChange("status", "IN_PROGRESS", "COMPLETED")), entry.changes());
+        }
+
+        @Test
+        @DisplayName("Should not record an update that changed nothing")
+        void shouldSkipEmptyUpdate() {
+            // Given
+            TaskHistoryRecorder recorder = recorder(10, 10, "block");
+
+            // When
+            recorder.record(TaskHistoryEntry.updated(task, TaskHistoryEntry.fields(task)));
+            recorder.stop();
+
+            // Then
+            verifyNoInteractions(taskHistoryStore);
+        }
+    }
+
+    @Nested
+    @DisplayName("Writer")
+    class Writer {
+
+        @Test
+        @DisplayName("Should write buffered entries in batches and flush the rest on stop")
+        void shouldWriteInBatches() {
+            // Given
+            TaskHistoryRecorder recorder = recorder(10, 2, "block");
+            recorder.record(TaskHistoryEntry.created(task));
+            recorder.record(TaskHistoryEntry.statusChanged(task.getId(), task.getAuthorId(), TaskStatus.PENDING, TaskStatus.IN_PROGRESS));
+            recorder.record(TaskHistoryEntry.deleted(task));
+
+            // When
+            recorder.start();
+            recorder.stop();
+
+            // Then
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<TaskHistoryEntry>> batches = ArgumentCaptor.forClass(List.class);
+            verify(taskHistoryStore, atLeastOnce()).insert(batches.capture());
+            assertTrue(batches.getAllValues().stream().allMatch(batch -> batch.size() <= 2));
+            assertEquals(List.of(TaskChangeType.CREATED, TaskChangeType.UPDATED, TaskChangeType.DELETED),
+                    batches.getAllValues().stream().flatMap(List::stream).map(TaskHistoryEntry::changeType).toList());
+            assertEquals(3, meterRegistry.counter("tasks.history.written").count());
+        }
+
+        @Test
+        @DisplayName("Should drop entries beyond the capacity with the drop policy")
+        void shouldDropWhenFull() {
+            // Given
+            TaskHistoryRecorder recorder = recorder(2, 10, "drop");
+
+            // When
+            recorder.record(TaskHistoryEntry.created(task));
+            recorder.record(TaskHistoryEntry.statusChanged(task.getId(), task.getAuthorId(), TaskStatus.PENDING, TaskStatus.IN_PROGRESS));
+            recorder.record(TaskHistoryEntry.deleted(task));
+
+            // Then
+            assertEquals(1, meterRegistry.counter("tasks.history.dropped").count());
+            verifyNoInteractions(taskHistoryStore);
+        }
+
+        @Test
+        @DisplayName("Should write entries directly once stopped")
+        void shouldWriteDirectlyAfterStop() {
+            // Given
+            TaskHistoryRecorder recorder = recorder(10, 10, "block");
+            recorder.start();
+            recorder.stop();
+            TaskHistoryEntry entry = TaskHistoryEntry.deleted(task);
+
+            // When
+            recorder.record(entry);
+
+            // Then
+            verify(taskHistoryStore).insert(List.of(entry));
+        }
+
+        @Test
+        @DisplayName("Should count a batch that fails during shutdown as dropped")
+        void shouldDropFailedBatchOnShutdown() {
+            // Given
+            TaskHistoryRecorder recorder = recorder(10, 10, "block");
+            doThrow(new RuntimeException("database down")).when(taskHistoryStore).insert(any());
+            recorder.record(TaskHistoryEntry.created(task));
+
+            // When
+            recorder.stop();
+
+            // Then
+            assertEquals(1, meterRegistry.counter("tasks.history.dropped").count());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.uxelf.TasksApp.service.recurrence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RecurrenceRule - parsing and expansion")
+class RecurrenceRuleTest {
+
+    @Test
+    @DisplayName("Should expand a daily rule with interval only inside the window")
+    void shouldExpandDailyRuleInsideWindow() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3");
+        LocalDate start = LocalDate.of(2030, 1, 1).minusDays(3 * 1000);
+
+        // When
+        List<LocalDate> occurrences = rule.occurrencesBetween(start, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 10));
+
+        // Then
+        assertEquals(List.of(
+                LocalDate.of(2030, 1, 1),
+                LocalDate.of(2030, 1, 4),
+                LocalDate.of(2030, 1, 7),
+                LocalDate.of(2030, 1, 10)
+        ), occurrences);
+    }
+
+    @Test
+    @DisplayName("Should expand weekly BYDAY rules every other week")
+    void shouldExpandWeeklyByDay() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;INTERVAL=2;BYDAY=TH,MO");
+        LocalDate start = LocalDate.of(2030, 1, 9); // Wednesday
+
+        // When
+        List<LocalDate> occurrences = rule.occurrencesBetween(start, start, LocalDate.of(2030, 1, 31));
+
+        // Then
+        assertEquals(List.of(
+                LocalDate.of(2030, 1, 10),
+                LocalDate.of(2030, 1, 21),
+                LocalDate.of(2030, 1, 24)
+        ), occurrences);
+    }
+
+    @Test
+    @DisplayName("Should count COUNT from the series start, not from the window")
+    void shouldApplyCountFromSeriesStart() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;COUNT=3");
+        LocalDate start = LocalDate.of(2030, 1, 7);
+
+        // When
+        List<LocalDate> occurrences = rule.occurrencesBetween(start, LocalDate.of(2030, 1, 15), LocalDate.of(2030, 3, 1));
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2030, 1, 21)), occurrences);
+        assertEquals(LocalDate.of(2030, 1, 21), rule.lastOccurrence(start));
+    }
+
+    @Test
+    @DisplayName("Should skip months that don't have the start day")
+    void shouldSkipMissingMonthDays() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;UNTIL=20300531");
+        LocalDate start = LocalDate.of(2030, 1, 31);
+
+        // When
+        List<LocalDate> occurrences = rule.occurrencesBetween(start, start, LocalDate.of(2030, 12, 31));
+
+        // Then
+        assertEquals(List.of(
+                LocalDate.of(2030, 1, 31),
+                LocalDate.of(2030, 3, 31),
+                LocalDate.of(2030, 5, 31)
+        ), occurrences);
+    }
+
+    @Test
+    @DisplayName("Should only repeat February 29 on leap years")
+    void shouldRepeatLeapDayOnLeapYears() {
+        // Given
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=YEARLY");
+        LocalDate start = LocalDate.of(2028, 2, 29);
+
+        // When
+        List<LocalDate> occurrences = rule.occurrencesBetween(start, start, LocalDate.of(2036, 12, 31));
+
+        // Then
+        assertEquals(List.of(
+                LocalDate.of(2028, 2, 29),
+                LocalDate.of(2032, 2, 29),
+                LocalDate.of(2036, 2, 29)
+        ), occurrences);
+    }
+
+    @Test
+    @DisplayName("Should return null last occurrence for never-ending series")
+    void shouldReturnNullLastOccurrenceWhenUnbounded() {
+        assertNull(RecurrenceRule.parse("FREQ=DAILY").lastOccurrence(LocalDate.of(2030, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Should normalize the rule text")
+    void shouldNormalizeRule() {
+        assertEquals(
+                "FREQ=WEEKLY;INTERVAL=2;UNTIL=20301231;BYDAY=MO,FR",
+                RecurrenceRule.parse("freq=weekly;byday=FR,MO;interval=2;until=20301231").toString()
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "FREQ=HOURLY",
+            "INTERVAL=2",
+            "FREQ=DAILY;INTERVAL=0",
+            "FREQ=DAILY;COUNT=2;UNTIL=20301231",
+            "FREQ=DAILY;BYDAY=MO",
+            "FREQ=WEEKLY;BYDAY=XX",
+            "FREQ=DAILY;UNTIL=2030",
+            "FREQ=DAILY;BYMONTH=1"
+    })
+    @DisplayName("Should reject rules outside the supported subset")
+    void shouldRejectUnsupportedRules(String rule) {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(rule));
+    }
+}
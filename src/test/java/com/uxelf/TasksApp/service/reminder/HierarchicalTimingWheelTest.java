@@ -0,0 +1,114 @@
+package com.uxelf.TasksApp.service.reminder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HierarchicalTimingWheel - scheduling and expiry")
+class HierarchicalTimingWheelTest {
+
+    // 4 slots x 3 levels of 10ms ticks: a horizon of 640ms
+    private HierarchicalTimingWheel<String, String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HierarchicalTimingWheel<>(10, 4, 3, 0);
+    }
+
+    @Test
+    @DisplayName("Should expire a timer at its deadline after cascading down the levels")
+    void shouldExpireAtDeadline() {
+        // Given
+        wheel.schedule("late", 500, "late");
+        wheel.schedule("early", 30, "early");
+
+        // When
+        List<String> beforeEarly = wheel.advance(29);
+        List<String> atEarly = wheel.advance(30);
+        List<String> beforeLate = wheel.advance(499);
+        List<String> atLate = wheel.advance(500);
+
+        // Then
+        assertEquals(List.of(), beforeEarly);
+        assertEquals(List.of("early"), atEarly);
+        assertEquals(List.of(), beforeLate);
+        assertEquals(List.of("late"), atLate);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should return timers expiring within one advance in deadline order")
+    void shouldExpireInDeadlineOrder() {
+        // Given
+        wheel.schedule("third", 300, "third");
+        wheel.schedule("first", 20, "first");
+        wheel.schedule("second", 170, "second");
+
+        // When
+        List<String> expired = wheel.advance(400);
+
+        // Then
+        assertEquals(List.of("first", "second", "third"), expired);
+    }
+
+    @Test
+    @DisplayName("Should not expire a cancelled timer")
+    void shouldSkipCancelledTimer() {
+        // Given
+        wheel.schedule("task", 200, "task");
+
+        // When
+        boolean cancelled = wheel.cancel("task");
+
+        // Then
+        assertTrue(cancelled);
+        assertFalse(wheel.contains("task"));
+        assertEquals(List.of(), wheel.advance(640));
+    }
+
+    @Test
+    @DisplayName("Should move a timer rescheduled under the same key")
+    void shouldReplaceTimer() {
+        // Given
+        wheel.schedule("task", 200, "old");
+
+        // When
+        wheel.schedule("task", 400, "new");
+
+        // Then
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(), wheel.advance(399));
+        assertEquals(List.of("new"), wheel.advance(400));
+    }
+
+    @Test
+    @DisplayName("Should refuse a deadline beyond the horizon and drop the previous timer")
+    void shouldRefuseBeyondHorizon() {
+        // Given
+        wheel.schedule("task", 100, "task");
+
+        // When
+        boolean scheduled = wheel.schedule("task", wheel.horizonMillis(), "task");
+
+        // Then
+        assertFalse(scheduled);
+        assertFalse(wheel.contains("task"));
+    }
+
+    @Test
+    @DisplayName("Should expire a deadline in the past on the next tick")
+    void shouldExpirePastDeadlineOnNextTick() {
+        // Given
+        wheel.advance(100);
+
+        // When
+        wheel.schedule("task", 50, "task");
+
+        // Then
+        assertEquals(List.of("task"), wheel.advance(110));
+    }
+}
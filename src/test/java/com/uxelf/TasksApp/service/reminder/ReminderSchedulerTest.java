@@ -0,0 +1,148 @@
+package com.uxelf.TasksApp.service.reminder;
+
+import com.uxelf.TasksApp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Tag("jvm-only")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReminderScheduler - due-date reminders")
+class ReminderSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-10T12:00:00Z");
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private InMemoryReminderSink sink;
+    private MutableClock clock;
+    private ReminderScheduler scheduler;
+    private UUID taskId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        sink = new InMemoryReminderSink();
+        clock = new MutableClock(NOW);
+        scheduler = new ReminderScheduler(taskRepository, sink, clock, true,
+                Duration.ofHours(24), Duration.ofHours(48), 100);
+        taskId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should deliver a loaded reminder once its time has come")
+    void shouldDeliverLoadedReminder() {
+        // Given
+        LocalDate end = LocalDate.of(2030, 1, 12);
+        when(taskRepository.findReminderCandidates(any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{taskId, userId, "Report", end}));
+        when(taskRepository.findReminderTargets(List.of(taskId)))
+                .thenReturn(List.<Object[]>of(new Object[]{taskId, "Final report", end}));
+        scheduler.loadWindow();
+
+        // When
+        clock.set(Instant.parse("2030-01-11T00:00:00Z"));
+        scheduler.deliverDue();
+
+        // Then
+        assertEquals(List.of(new Reminder(taskId, userId, "Final report", end, Instant.parse("2030-01-11T00:00:00Z"))),
+                sink.getDelivered());
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    @Test
+    @DisplayName("Should skip a reminder whose task was completed or moved meanwhile")
+    void shouldSkipChangedTask() {
+        // Given
+        LocalDate end = LocalDate.of(2030, 1, 12);
+        when(taskRepository.findReminderCandidates(any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{taskId, userId, "Report", end}));
+        when(taskRepository.findReminderTargets(List.of(taskId))).thenReturn(List.of());
+        scheduler.loadWindow();
+
+        // When
+        clock.set(Instant.parse("2030-01-11T00:00:00Z"));
+        scheduler.deliverDue();
+
+        // Then
+        assertTrue(sink.getDelivered().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not hold reminders that are already past or outside the window")
+    void shouldOnlyHoldWindow() {
+        // Given
+        when(taskRepository.findReminderCandidates(any(), any(), any(), any())).thenReturn(List.of(
+                new Object[]{UUID.randomUUID(), userId, "Past", LocalDate.of(2030, 1, 11)},
+                new Object[]{UUID.randomUUID(), userId, "Inside", LocalDate.of(2030, 1, 13)},
+                new Object[]{UUID.randomUUID(), userId, "Outside", LocalDate.of(2030, 1, 14)}
+        ));
+
+        // When
+        scheduler.loadWindow();
+
+        // Then
+        assertEquals(1, scheduler.scheduledCount());
+    }
+
+    @Test
+    @DisplayName("Should drop a reminder when its task is deleted")
+    void shouldCancelDeletedTask() {
+        // Given
+        when(taskRepository.findReminderCandidates(any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{taskId, userId, "Report", LocalDate.of(2030, 1, 12)}));
+        scheduler.loadWindow();
+
+        // When
+        scheduler.taskDeleted(taskId);
+
+        // Then
+        assertEquals(0, scheduler.scheduledCount());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}